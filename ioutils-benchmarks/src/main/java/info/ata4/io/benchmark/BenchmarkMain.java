@@ -0,0 +1,58 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the usual JMH command line options, but writes the
+ * results as JSON by default, so runs of different versions can be compared
+ * with tools like JMH Visualizer.
+ *
+ * The default result file is {@code jmh-result-<version>.json} in the working
+ * directory. Both format and file can be changed with {@code -rf} and
+ * {@code -rff}.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams()
+                || cmd.shouldListProfilers() || cmd.shouldListResultFormats()) {
+            // let JMH handle informational options
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder opts = new OptionsBuilder().parent(cmd);
+
+        if (!cmd.getResultFormat().hasValue()) {
+            opts.resultFormat(ResultFormatType.JSON);
+        }
+
+        if (!cmd.getResult().hasValue()) {
+            String version = BenchmarkMain.class.getPackage().getImplementationVersion();
+            String format = cmd.getResultFormat().orElse(ResultFormatType.JSON).toString().toLowerCase();
+            opts.result("jmh-result-" + (version == null ? "dev" : version) + "." + format);
+        }
+
+        new Runner(opts.build()).run();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.benchmark;
+
+import info.ata4.io.buffer.source.BufferedSource;
+import info.ata4.io.buffer.source.ByteBufferSource;
+import info.ata4.io.buffer.source.ReadableByteChannelSource;
+import info.ata4.io.buffer.source.SeekableByteChannelSource;
+import info.ata4.io.buffer.source.WritableByteChannelSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Creates the sources that are compared in the reader and writer benchmarks.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+class BenchmarkSources {
+
+    // size of the data that is read or written per benchmark invocation
+    static final int DATA_SIZE = 1 << 20;
+
+    private BenchmarkSources() {
+    }
+
+    static byte[] randomData(int size) {
+        byte[] data = new byte[size];
+        new Random(0).nextBytes(data);
+        return data;
+    }
+
+    static Path tempFile(byte[] data) throws IOException {
+        Path file = Files.createTempFile("ioutils-bench", ".bin");
+        file.toFile().deleteOnExit();
+        Files.write(file, data);
+        return file;
+    }
+
+    static BufferedSource forReading(String type, byte[] data, Path file, int bufferSize) throws IOException {
+        switch (type) {
+            case "ByteBuffer":
+                return new ByteBufferSource(ByteBuffer.wrap(data));
+            case "ReadableByteChannel":
+                return new ReadableByteChannelSource(ByteBuffer.allocateDirect(bufferSize),
+                        Channels.newChannel(new ByteArrayInputStream(data)));
+            case "SeekableByteChannel":
+                return new SeekableByteChannelSource(ByteBuffer.allocateDirect(bufferSize),
+                        FileChannel.open(file, StandardOpenOption.READ));
+            default:
+                throw new IllegalArgumentException(type);
+        }
+    }
+
+    static BufferedSource forWriting(String type, Path file, int bufferSize) throws IOException {
+        switch (type) {
+            case "ByteBuffer":
+                return new ByteBufferSource(ByteBuffer.allocateDirect(DATA_SIZE));
+            case "WritableByteChannel":
+                return new WritableByteChannelSource(ByteBuffer.allocateDirect(bufferSize),
+                        new NullChannel());
+            case "SeekableByteChannel":
+                return new SeekableByteChannelSource(ByteBuffer.allocateDirect(bufferSize),
+                        FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE));
+            default:
+                throw new IllegalArgumentException(type);
+        }
+    }
+
+    /**
+     * Channel that discards all bytes, so only the overhead of the source is
+     * measured.
+     */
+    static class NullChannel implements WritableByteChannel {
+
+        private boolean open = true;
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int n = src.remaining();
+            src.position(src.limit());
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() throws IOException {
+            open = false;
+        }
+    }
+}
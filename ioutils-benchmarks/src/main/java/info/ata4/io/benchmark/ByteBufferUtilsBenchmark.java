@@ -0,0 +1,105 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.benchmark;
+
+import static info.ata4.io.benchmark.BenchmarkSources.DATA_SIZE;
+import info.ata4.io.buffer.ByteBufferUtils;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the ByteBufferUtils helpers on 1 MiB of data, so the score in
+ * ops/s equals MiB/s.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ByteBufferUtilsBenchmark {
+
+    @Param({"false", "true"})
+    private boolean direct;
+
+    // number of buffers for concat
+    @Param({"16"})
+    private int parts;
+
+    private ByteBuffer buffer;
+    private List<ByteBuffer> buffers;
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] data = BenchmarkSources.randomData(DATA_SIZE);
+
+        buffer = direct ? ByteBuffer.allocateDirect(DATA_SIZE) : ByteBuffer.allocate(DATA_SIZE);
+        buffer.put(data);
+        buffer.flip();
+
+        buffers = new ArrayList<>();
+        int partSize = DATA_SIZE / parts;
+        for (int i = 0; i < parts; i++) {
+            buffers.add(ByteBufferUtils.getSlice(buffer, i * partSize, partSize));
+        }
+
+        file = BenchmarkSources.tempFile(data);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public ByteBuffer concat() {
+        for (ByteBuffer bb : buffers) {
+            bb.rewind();
+        }
+        return ByteBufferUtils.concat(buffers);
+    }
+
+    @Benchmark
+    public ByteBuffer copy() {
+        buffer.rewind();
+        return ByteBufferUtils.copy(buffer);
+    }
+
+    @Benchmark
+    public ByteBuffer copyDirect() {
+        buffer.rewind();
+        return ByteBufferUtils.copy(buffer, true);
+    }
+
+    @Benchmark
+    public ByteBuffer load() throws IOException {
+        return ByteBufferUtils.load(file);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.benchmark;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataWriter;
+import info.ata4.io.buffer.source.ByteBufferSource;
+import info.ata4.io.util.HalfFloat;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the table-driven half float conversion with the scalar reference
+ * code, for single values and through DataReader/DataWriter.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HalfFloatBenchmark {
+
+    @Param({"4096"})
+    private int count;
+
+    private short[] halfs;
+    private float[] floats;
+
+    private short[] halfsOut;
+    private float[] floatsOut;
+
+    private DataReader in;
+    private DataWriter out;
+
+    @Setup
+    public void setup() throws IOException {
+        // typical vertex data, mostly normalized values
+        Random r = new Random(0);
+        floats = new float[count];
+        halfs = new short[count];
+        for (int i = 0; i < count; i++) {
+            floats[i] = (r.nextFloat() - 0.5f) * 4;
+            halfs[i] = (short) HalfFloat.floatToIntBits(floats[i]);
+        }
+
+        floatsOut = new float[count];
+        halfsOut = new short[count];
+
+        ByteBuffer bb = ByteBuffer.allocateDirect(count * 2);
+        in = new DataReader(new ByteBufferSource(bb));
+        out = new DataWriter(new ByteBufferSource(bb.duplicate()));
+        out.writeHalfs(floats);
+    }
+
+    @Benchmark
+    public float[] decodeScalar() {
+        for (int i = 0; i < count; i++) {
+            floatsOut[i] = HalfFloat.intBitsToFloatScalar(halfs[i] & 0xffff);
+        }
+        return floatsOut;
+    }
+
+    @Benchmark
+    public float[] decodeTable() {
+        HalfFloat.decode(halfs, 0, floatsOut, 0, count);
+        return floatsOut;
+    }
+
+    @Benchmark
+    public short[] encodeScalar() {
+        for (int i = 0; i < count; i++) {
+            halfsOut[i] = (short) HalfFloat.floatToIntBitsScalar(floats[i]);
+        }
+        return halfsOut;
+    }
+
+    @Benchmark
+    public short[] encodeTable() {
+        HalfFloat.encode(floats, 0, halfsOut, 0, count);
+        return halfsOut;
+    }
+
+    @Benchmark
+    public float[] readHalf() throws IOException {
+        in.position(0);
+        for (int i = 0; i < count; i++) {
+            floatsOut[i] = in.readHalf();
+        }
+        return floatsOut;
+    }
+
+    @Benchmark
+    public float[] readHalfs() throws IOException {
+        in.position(0);
+        in.readHalfs(floatsOut);
+        return floatsOut;
+    }
+
+    @Benchmark
+    public void writeHalf() throws IOException {
+        out.position(0);
+        for (int i = 0; i < count; i++) {
+            out.writeHalf(floats[i]);
+        }
+    }
+
+    @Benchmark
+    public void writeHalfs() throws IOException {
+        out.position(0);
+        out.writeHalfs(floats);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.benchmark;
+
+import static info.ata4.io.benchmark.BenchmarkSources.DATA_SIZE;
+import info.ata4.io.DataReader;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Per-primitive read throughput of DataReader on different sources. Each
+ * invocation reads 1 MiB, so the score in ops/s equals MiB/s.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReadBenchmark {
+
+    @Param({"ByteBuffer", "ReadableByteChannel", "SeekableByteChannel"})
+    private String source;
+
+    @Param({"4096", "65536"})
+    private int bufferSize;
+
+    @Param({"BIG_ENDIAN", "LITTLE_ENDIAN"})
+    private String order;
+
+    private byte[] data;
+    private Path file;
+    private DataReader in;
+
+    private final int[] ints = new int[DATA_SIZE / 4];
+    private final long[] longs = new long[DATA_SIZE / 8];
+    private final float[] floats = new float[DATA_SIZE / 4];
+
+    @Setup(Level.Trial)
+    public void setupData() throws IOException {
+        data = BenchmarkSources.randomData(DATA_SIZE);
+        file = BenchmarkSources.tempFile(data);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupReader() throws IOException {
+        // non-seekable channels can't be rewound, so create a new reader for
+        // each invocation
+        if (in == null || !in.source().canSeek()) {
+            if (in != null) {
+                in.close();
+            }
+            in = new DataReader(BenchmarkSources.forReading(source, data, file, bufferSize));
+            in.order("LITTLE_ENDIAN".equals(order) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        } else {
+            in.position(0);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        in.close();
+        in = null;
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void readByte(Blackhole bh) throws IOException {
+        for (int i = 0; i < DATA_SIZE; i++) {
+            bh.consume(in.readByte());
+        }
+    }
+
+    @Benchmark
+    public void readShort(Blackhole bh) throws IOException {
+        for (int i = 0; i < DATA_SIZE / 2; i++) {
+            bh.consume(in.readShort());
+        }
+    }
+
+    @Benchmark
+    public void readInt(Blackhole bh) throws IOException {
+        for (int i = 0; i < DATA_SIZE / 4; i++) {
+            bh.consume(in.readInt());
+        }
+    }
+
+    @Benchmark
+    public void readLong(Blackhole bh) throws IOException {
+        for (int i = 0; i < DATA_SIZE / 8; i++) {
+            bh.consume(in.readLong());
+        }
+    }
+
+    @Benchmark
+    public void readFloat(Blackhole bh) throws IOException {
+        for (int i = 0; i < DATA_SIZE / 4; i++) {
+            bh.consume(in.readFloat());
+        }
+    }
+
+    @Benchmark
+    public void readDouble(Blackhole bh) throws IOException {
+        for (int i = 0; i < DATA_SIZE / 8; i++) {
+            bh.consume(in.readDouble());
+        }
+    }
+
+    @Benchmark
+    public void readHalf(Blackhole bh) throws IOException {
+        for (int i = 0; i < DATA_SIZE / 2; i++) {
+            bh.consume(in.readHalf());
+        }
+    }
+
+    @Benchmark
+    public int[] readInts() throws IOException {
+        in.readInts(ints);
+        return ints;
+    }
+
+    @Benchmark
+    public long[] readLongs() throws IOException {
+        in.readLongs(longs);
+        return longs;
+    }
+
+    @Benchmark
+    public float[] readFloats() throws IOException {
+        in.readFloats(floats);
+        return floats;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.benchmark;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataWriter;
+import info.ata4.io.buffer.source.ByteBufferSource;
+import info.ata4.io.util.ByteString;
+import info.ata4.io.util.StringCache;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * String read and write throughput for a table of short, repeating names.
+ * Scores are strings per microsecond.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StringBenchmark {
+
+    private static final int COUNT = 4096;
+
+    // number of distinct strings
+    @Param({"64"})
+    private int distinct;
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private String[] strings;
+    private final ByteString view = new ByteString();
+
+    private DataReader inNull;
+    private DataReader inFixed;
+    private DataReader inPrefixed;
+    private DataWriter out;
+
+    @Setup
+    public void setup() throws IOException {
+        Random r = new Random(0);
+        String[] names = new String[distinct];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "m_Property" + Integer.toHexString(r.nextInt());
+        }
+
+        strings = new String[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            strings[i] = names[r.nextInt(names.length)];
+        }
+
+        inNull = reader(0);
+        inFixed = reader(1);
+        inPrefixed = reader(2);
+
+        out = new DataWriter(new ByteBufferSource(ByteBuffer.allocateDirect(COUNT * 32)));
+    }
+
+    private DataReader reader(int type) throws IOException {
+        ByteBuffer bb = ByteBuffer.allocateDirect(COUNT * 32);
+        DataWriter w = new DataWriter(new ByteBufferSource(bb));
+        for (String str : strings) {
+            switch (type) {
+                case 0:
+                    w.writeStringNull(str);
+                    break;
+                case 1:
+                    w.writeStringFixed(str, 32);
+                    break;
+                default:
+                    w.writeStringPrefixed(str, Integer.TYPE);
+            }
+        }
+
+        DataReader r = new DataReader(new ByteBufferSource(bb));
+        if (cached) {
+            r.setStringCache(new StringCache());
+        }
+        return r;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void readStringNull(Blackhole bh) throws IOException {
+        inNull.position(0);
+        for (int i = 0; i < COUNT; i++) {
+            bh.consume(inNull.readStringNull());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void readStringFixed(Blackhole bh) throws IOException {
+        inFixed.position(0);
+        for (int i = 0; i < COUNT; i++) {
+            bh.consume(inFixed.readStringFixed(32));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void readStringPrefixed(Blackhole bh) throws IOException {
+        inPrefixed.position(0);
+        for (int i = 0; i < COUNT; i++) {
+            bh.consume(inPrefixed.readStringPrefixed(Integer.TYPE, Integer.MAX_VALUE));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void readStringViewNull(Blackhole bh) throws IOException {
+        inNull.position(0);
+        for (int i = 0; i < COUNT; i++) {
+            bh.consume(inNull.readStringViewNull(256, view).hashCode());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void writeStringNull() throws IOException {
+        out.position(0);
+        for (int i = 0; i < COUNT; i++) {
+            out.writeStringNull(strings[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void writeStringFixed() throws IOException {
+        out.position(0);
+        for (int i = 0; i < COUNT; i++) {
+            out.writeStringFixed(strings[i], 32);
+        }
+    }
+}
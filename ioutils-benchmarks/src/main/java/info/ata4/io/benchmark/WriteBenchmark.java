@@ -0,0 +1,167 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.benchmark;
+
+import static info.ata4.io.benchmark.BenchmarkSources.DATA_SIZE;
+import info.ata4.io.DataWriter;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-primitive write throughput of DataWriter on different sources. Each
+ * invocation writes 1 MiB, so the score in ops/s equals MiB/s.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WriteBenchmark {
+
+    @Param({"ByteBuffer", "WritableByteChannel", "SeekableByteChannel"})
+    private String source;
+
+    @Param({"4096", "65536"})
+    private int bufferSize;
+
+    @Param({"BIG_ENDIAN", "LITTLE_ENDIAN"})
+    private String order;
+
+    private Path file;
+    private DataWriter out;
+
+    private final int[] ints = new int[DATA_SIZE / 4];
+    private final long[] longs = new long[DATA_SIZE / 8];
+    private final float[] floats = new float[DATA_SIZE / 4];
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = BenchmarkSources.tempFile(new byte[0]);
+        out = new DataWriter(BenchmarkSources.forWriting(source, file, bufferSize));
+        out.order("LITTLE_ENDIAN".equals(order) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+
+        Random r = new Random(0);
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = r.nextInt();
+            floats[i] = r.nextFloat();
+        }
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = r.nextLong();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void rewind() throws IOException {
+        // the null channel can't seek, but it doesn't need to
+        if (out.source().canSeek()) {
+            out.position(0);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        out.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void writeByte() throws IOException {
+        for (int i = 0; i < DATA_SIZE; i++) {
+            out.writeByte((byte) i);
+        }
+        out.flush();
+    }
+
+    @Benchmark
+    public void writeShort() throws IOException {
+        for (int i = 0; i < DATA_SIZE / 2; i++) {
+            out.writeShort((short) i);
+        }
+        out.flush();
+    }
+
+    @Benchmark
+    public void writeInt() throws IOException {
+        for (int i = 0; i < DATA_SIZE / 4; i++) {
+            out.writeInt(ints[i]);
+        }
+        out.flush();
+    }
+
+    @Benchmark
+    public void writeLong() throws IOException {
+        for (int i = 0; i < DATA_SIZE / 8; i++) {
+            out.writeLong(longs[i]);
+        }
+        out.flush();
+    }
+
+    @Benchmark
+    public void writeFloat() throws IOException {
+        for (int i = 0; i < DATA_SIZE / 4; i++) {
+            out.writeFloat(floats[i]);
+        }
+        out.flush();
+    }
+
+    @Benchmark
+    public void writeDouble() throws IOException {
+        for (int i = 0; i < DATA_SIZE / 8; i++) {
+            out.writeDouble(floats[i]);
+        }
+        out.flush();
+    }
+
+    @Benchmark
+    public void writeHalf() throws IOException {
+        for (int i = 0; i < DATA_SIZE / 2; i++) {
+            out.writeHalf(floats[i / 2]);
+        }
+        out.flush();
+    }
+
+    @Benchmark
+    public void writeInts() throws IOException {
+        out.writeInts(ints);
+        out.flush();
+    }
+
+    @Benchmark
+    public void writeLongs() throws IOException {
+        out.writeLongs(longs);
+        out.flush();
+    }
+
+    @Benchmark
+    public void writeFloats() throws IOException {
+        out.writeFloats(floats);
+        out.flush();
+    }
+}
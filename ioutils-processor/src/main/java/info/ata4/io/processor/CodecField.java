@@ -0,0 +1,114 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.processor;
+
+import info.ata4.io.struct.Order;
+
+/**
+ * Layout of a single struct field.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+class CodecField {
+
+    /**
+     * Storage type of a field with code templates for buffer and stream access.
+     * Write templates use {@code %s} as placeholder for the value.
+     */
+    enum Kind {
+        BOOLEAN(1, "bb.get() != 0", "in.readBoolean()",
+                "bb.put((byte) (%s ? 1 : 0))", "out.writeBoolean(%s)"),
+        BYTE(1, "bb.get()", "in.readByte()",
+                "bb.put(%s)", "out.writeByte(%s)"),
+        SHORT(2, "bb.getShort()", "in.readShort()",
+                "bb.putShort(%s)", "out.writeShort(%s)"),
+        INT(4, "bb.getInt()", "in.readInt()",
+                "bb.putInt(%s)", "out.writeInt(%s)"),
+        LONG(8, "bb.getLong()", "in.readLong()",
+                "bb.putLong(%s)", "out.writeLong(%s)"),
+        FLOAT(4, "bb.getFloat()", "in.readFloat()",
+                "bb.putFloat(%s)", "out.writeFloat(%s)"),
+        DOUBLE(8, "bb.getDouble()", "in.readDouble()",
+                "bb.putDouble(%s)", "out.writeDouble(%s)"),
+        UINT8(1, "bb.get() & 0xff", "in.readUnsignedByte()",
+                "bb.put((byte) %s)", "out.writeByte((byte) %s)"),
+        UINT16(2, "bb.getShort() & 0xffff", "in.readUnsignedShort()",
+                "bb.putShort((short) %s)", "out.writeShort((short) %s)"),
+        UINT32(4, "bb.getInt() & 0xffffffffL", "in.readUnsignedInt()",
+                "bb.putInt((int) %s)", "out.writeInt((int) %s)"),
+        HALF(2, "info.ata4.io.util.HalfFloat.intBitsToFloat(bb.getShort() & 0xffff)", "in.readHalf()",
+                "bb.putShort((short) info.ata4.io.util.HalfFloat.floatToIntBits(%s))", "out.writeHalf(%s)"),
+        STRING_FIXED(1),
+        STRING_NULL(-1),
+        STRUCT(-1);
+
+        final int size;
+        final String bufferRead;
+        final String streamRead;
+        final String bufferWrite;
+        final String streamWrite;
+
+        private Kind(int size, String bufferRead, String streamRead, String bufferWrite, String streamWrite) {
+            this.size = size;
+            this.bufferRead = bufferRead;
+            this.streamRead = streamRead;
+            this.bufferWrite = bufferWrite;
+            this.streamWrite = streamWrite;
+        }
+
+        private Kind(int size) {
+            this(size, null, null, null, null);
+        }
+
+        boolean isPrimitive() {
+            return bufferRead != null;
+        }
+
+        boolean isUnsigned() {
+            return this == UINT8 || this == UINT16 || this == UINT32;
+        }
+    }
+
+    final String name;
+    final Kind kind;
+
+    // Java type of the field or of the array elements
+    final String type;
+
+    // number of array elements or string bytes, -1 for scalars
+    final int count;
+
+    // alignment, 0 if not aligned
+    final int align;
+
+    // byte order, null for the order of the reader or writer
+    final Order.Endian order;
+
+    CodecField(String name, Kind kind, String type, int count, int align, Order.Endian order) {
+        this.name = name;
+        this.kind = kind;
+        this.type = type;
+        this.count = count;
+        this.align = align;
+        this.order = order;
+    }
+
+    boolean isArray() {
+        return count >= 0 && kind != Kind.STRING_FIXED;
+    }
+
+    boolean isFixed() {
+        return kind.size > 0;
+    }
+
+    int size() {
+        return count >= 0 ? kind.size * count : kind.size;
+    }
+}
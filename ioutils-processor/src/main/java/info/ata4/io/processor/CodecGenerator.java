@@ -0,0 +1,384 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.processor;
+
+import info.ata4.io.processor.CodecField.Kind;
+import info.ata4.io.struct.Order;
+import java.util.List;
+
+/**
+ * Source code generator for struct codecs.
+ *
+ * Fixed-size structs are transferred with a single buffer request of
+ * {@code SIZEOF} bytes, all other structs field by field through the reader or
+ * writer. The field by field methods are also used for fixed-size structs that
+ * are larger than the buffer of the source.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+class CodecGenerator {
+
+    private static final String DATA_READER = "info.ata4.io.DataReader";
+    private static final String DATA_WRITER = "info.ata4.io.DataWriter";
+    private static final String IO_EXCEPTION = "java.io.IOException";
+    private static final String BYTE_BUFFER = "java.nio.ByteBuffer";
+    private static final String BYTE_ORDER = "java.nio.ByteOrder";
+    private static final String CODEC_UTILS = "info.ata4.io.struct.CodecUtils";
+
+    private final String pkg;
+    private final String name;
+    private final String structType;
+    private final List<CodecField> fields;
+    private final int align;
+    private final boolean fixed;
+    private final boolean ordered;
+
+    private final StringBuilder sb = new StringBuilder();
+    private int indent;
+
+    // current byte order while generating a method body
+    private Order.Endian order;
+
+    CodecGenerator(String pkg, String name, String structType, List<CodecField> fields, int align) {
+        this.pkg = pkg;
+        this.name = name;
+        this.structType = structType;
+        this.fields = fields;
+        this.align = align;
+
+        boolean isFixed = true;
+        boolean isOrdered = false;
+        for (CodecField field : fields) {
+            isFixed &= field.isFixed();
+            isOrdered |= field.order != null;
+        }
+
+        this.fixed = isFixed;
+        this.ordered = isOrdered;
+    }
+
+    private static int padding(int offset, int align) {
+        if (align == 0) {
+            return 0;
+        }
+        int rem = offset % align;
+        return rem == 0 ? 0 : align - rem;
+    }
+
+    int sizeof() {
+        int offset = 0;
+        for (CodecField field : fields) {
+            offset += padding(offset, field.align);
+            offset += field.size();
+        }
+        return offset + padding(offset, align);
+    }
+
+    private void line(String format, Object... args) {
+        if (format.startsWith("}")) {
+            indent--;
+        }
+
+        if (!format.isEmpty()) {
+            for (int i = 0; i < indent; i++) {
+                sb.append("    ");
+            }
+            sb.append(String.format(format, args));
+        }
+        sb.append('\n');
+
+        if (format.endsWith("{")) {
+            indent++;
+        }
+    }
+
+    String generate() {
+        if (!pkg.isEmpty()) {
+            line("package %s;", pkg);
+            line("");
+        }
+
+        line("/**");
+        line(" * Codec for {@link %s}.", structType);
+        line(" *");
+        line(" * Generated by info.ata4.io.processor.CodecProcessor, do not edit.");
+        line(" */");
+        line("public final class %s {", name);
+        line("");
+
+        if (fixed) {
+            line("public static final int SIZEOF = %d;", sizeof());
+            line("");
+        }
+
+        line("private %s() {", name);
+        line("}");
+        line("");
+
+        generateRead();
+        line("");
+        generateWrite();
+        line("");
+        generateFields(false);
+        line("");
+        generateFields(true);
+
+        line("}");
+
+        return sb.toString();
+    }
+
+    private void generateRead() {
+        line("public static void read(%s s, %s in) throws %s {", structType, DATA_READER, IO_EXCEPTION);
+
+        if (fixed) {
+            line("if (SIZEOF > in.source().bufferSize()) {");
+            line("readFields(s, in);");
+            line("return;");
+            line("}");
+            line("");
+            line("%s bb = in.source().requestRead(SIZEOF);", BYTE_BUFFER);
+            generateBuffer(false);
+        } else {
+            line("readFields(s, in);");
+        }
+
+        line("}");
+    }
+
+    private void generateWrite() {
+        line("public static void write(%s s, %s out) throws %s {", structType, DATA_WRITER, IO_EXCEPTION);
+
+        if (fixed) {
+            line("if (SIZEOF > out.source().bufferSize()) {");
+            line("writeFields(s, out);");
+            line("return;");
+            line("}");
+            line("");
+            line("%s bb = out.source().requestWrite(SIZEOF);", BYTE_BUFFER);
+            generateBuffer(true);
+        } else {
+            line("writeFields(s, out);");
+        }
+
+        line("}");
+    }
+
+    private void beginOrder(String target) {
+        order = null;
+
+        if (ordered) {
+            line("%s order = %s.order();", BYTE_ORDER, target);
+            line("try {");
+        }
+    }
+
+    private void switchOrder(String target, Order.Endian newOrder) {
+        if (order == newOrder) {
+            return;
+        }
+
+        if (newOrder == null) {
+            line("%s.order(order);", target);
+        } else {
+            line("%s.order(%s.%s_ENDIAN);", target, BYTE_ORDER, newOrder);
+        }
+
+        order = newOrder;
+    }
+
+    private void endOrder(String target) {
+        if (ordered) {
+            line("} finally {");
+            line("%s.order(order);", target);
+            line("}");
+        }
+    }
+
+    private void allocate(CodecField field) {
+        line("if (s.%s == null || s.%s.length != %d) {", field.name, field.name, field.count);
+        line("s.%s = new %s[%d];", field.name, field.type, field.count);
+        line("}");
+    }
+
+    private String readExpr(CodecField field, boolean buffer) {
+        String expr = buffer ? field.kind.bufferRead : field.kind.streamRead;
+        if (field.kind.isUnsigned()) {
+            expr = String.format("(%s) (%s)", field.type, expr);
+        }
+        return expr;
+    }
+
+    private void generateBuffer(boolean write) {
+        beginOrder("bb");
+
+        int offset = 0;
+        for (CodecField field : fields) {
+            int pad = padding(offset, field.align);
+            if (pad > 0) {
+                if (write) {
+                    line("%s.putZeros(bb, %d);", CODEC_UTILS, pad);
+                } else {
+                    line("bb.position(bb.position() + %d);", pad);
+                }
+            }
+
+            offset += pad + field.size();
+
+            switchOrder("bb", field.order);
+
+            String ref = "s." + field.name;
+
+            if (field.kind == Kind.STRING_FIXED) {
+                if (write) {
+                    line("%s.putStringFixed(bb, %s, %d);", CODEC_UTILS, ref, field.count);
+                } else {
+                    line("%s = %s.getStringFixed(bb, %d);", ref, CODEC_UTILS, field.count);
+                }
+            } else if (field.isArray()) {
+                if (!write) {
+                    allocate(field);
+                }
+
+                if (field.kind == Kind.BYTE) {
+                    if (write) {
+                        line("bb.put(%s, 0, %d);", ref, field.count);
+                    } else {
+                        line("bb.get(%s);", ref);
+                    }
+                } else {
+                    line("for (int i = 0; i < %d; i++) {", field.count);
+                    if (write) {
+                        line(field.kind.bufferWrite + ";", ref + "[i]");
+                    } else {
+                        line("%s[i] = %s;", ref, readExpr(field, true));
+                    }
+                    line("}");
+                }
+            } else if (write) {
+                line(field.kind.bufferWrite + ";", ref);
+            } else {
+                line("%s = %s;", ref, readExpr(field, true));
+            }
+        }
+
+        int pad = padding(offset, align);
+        if (pad > 0) {
+            if (write) {
+                line("%s.putZeros(bb, %d);", CODEC_UTILS, pad);
+            } else {
+                line("bb.position(bb.position() + %d);", pad);
+            }
+        }
+
+        endOrder("bb");
+    }
+
+    private void streamPadding(boolean write, int pad) {
+        // fixed-size structs are aligned relative to their start
+        if (pad > 0) {
+            if (write) {
+                line("out.writeZeros(%d);", pad);
+            } else {
+                line("in.readBytes(new byte[%d]);", pad);
+            }
+        }
+    }
+
+    private void generateFields(boolean write) {
+        String target = write ? "out" : "in";
+
+        if (write) {
+            line("private static void writeFields(%s s, %s out) throws %s {", structType, DATA_WRITER, IO_EXCEPTION);
+        } else {
+            line("private static void readFields(%s s, %s in) throws %s {", structType, DATA_READER, IO_EXCEPTION);
+        }
+
+        beginOrder(target);
+
+        int offset = 0;
+        for (CodecField field : fields) {
+            if (fixed) {
+                int pad = padding(offset, field.align);
+                streamPadding(write, pad);
+                offset += pad + field.size();
+            } else if (field.align > 0) {
+                line("%s.align(%d);", target, field.align);
+            }
+
+            switchOrder(target, field.order);
+
+            String ref = "s." + field.name;
+
+            switch (field.kind) {
+                case STRING_FIXED:
+                    if (write) {
+                        line("out.writeBytes(%s.toStringFixed(%s, %d));", CODEC_UTILS, ref, field.count);
+                    } else {
+                        line("%s = in.readStringFixed(%d);", ref, field.count);
+                    }
+                    break;
+
+                case STRING_NULL:
+                    if (write) {
+                        line("out.writeStringNull(%s);", ref);
+                    } else {
+                        line("%s = in.readStringNull();", ref);
+                    }
+                    break;
+
+                case STRUCT:
+                    if (write) {
+                        line("%s.write(out);", ref);
+                    } else {
+                        line("%s.read(in);", ref);
+                    }
+                    break;
+
+                default:
+                    if (field.isArray()) {
+                        if (!write) {
+                            allocate(field);
+                        }
+
+                        if (field.kind == Kind.BYTE) {
+                            if (write) {
+                                line("out.writeBytes(%s, 0, %d);", ref, field.count);
+                            } else {
+                                line("in.readBytes(%s);", ref);
+                            }
+                        } else {
+                            line("for (int i = 0; i < %d; i++) {", field.count);
+                            if (write) {
+                                line(field.kind.streamWrite + ";", ref + "[i]");
+                            } else {
+                                line("%s[i] = %s;", ref, readExpr(field, false));
+                            }
+                            line("}");
+                        }
+                    } else if (write) {
+                        line(field.kind.streamWrite + ";", ref);
+                    } else {
+                        line("%s = %s;", ref, readExpr(field, false));
+                    }
+            }
+        }
+
+        if (fixed) {
+            streamPadding(write, padding(offset, align));
+        } else if (align > 0) {
+            line("%s.align(%d);", target, align);
+        }
+
+        endOrder(target);
+
+        line("}");
+    }
+}
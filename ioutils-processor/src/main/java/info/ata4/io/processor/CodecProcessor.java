@@ -0,0 +1,244 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.processor;
+
+import info.ata4.io.processor.CodecField.Kind;
+import info.ata4.io.struct.Align;
+import info.ata4.io.struct.Codec;
+import info.ata4.io.struct.Fixed;
+import info.ata4.io.struct.Half;
+import info.ata4.io.struct.Order;
+import info.ata4.io.struct.UInt16;
+import info.ata4.io.struct.UInt32;
+import info.ata4.io.struct.UInt8;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Annotation processor that generates codecs for classes annotated with
+ * {@link Codec}.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+@SupportedAnnotationTypes("info.ata4.io.struct.Codec")
+public class CodecProcessor extends AbstractProcessor {
+
+    private static class CodecException extends Exception {
+
+        private final Element element;
+
+        private CodecException(Element element, String msg) {
+            super(msg);
+            this.element = element;
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Codec.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@Codec can only be applied to classes");
+                continue;
+            }
+
+            TypeElement type = (TypeElement) element;
+
+            try {
+                generate(type);
+            } catch (CodecException ex) {
+                error(ex.element, ex.getMessage());
+            } catch (IOException ex) {
+                error(type, "Can't write codec: " + ex.getMessage());
+            }
+        }
+
+        return true;
+    }
+
+    private void error(Element element, String msg) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, msg, element);
+    }
+
+    private void generate(TypeElement type) throws CodecException, IOException {
+        // generated code must be able to access the class
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new CodecException(type, "Codec classes must not be private");
+            }
+        }
+
+        Order classOrder = type.getAnnotation(Order.class);
+        Align classAlign = type.getAnnotation(Align.class);
+
+        List<CodecField> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Set<Modifier> mods = field.getModifiers();
+            if (mods.contains(Modifier.STATIC) || mods.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+
+            fields.add(parseField(field, classOrder == null ? null : classOrder.value()));
+        }
+
+        String pkg = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+
+        // Outer.Inner -> Outer_InnerCodec
+        String name = type.getSimpleName().toString();
+        for (Element e = type.getEnclosingElement(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+            name = e.getSimpleName() + "_" + name;
+        }
+        name += "Codec";
+
+        CodecGenerator gen = new CodecGenerator(pkg, name, type.getQualifiedName().toString(),
+                fields, classAlign == null ? 0 : checkAlign(type, classAlign));
+
+        String qualifiedName = pkg.isEmpty() ? name : pkg + "." + name;
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(gen.generate());
+        }
+    }
+
+    private int checkAlign(Element element, Align align) throws CodecException {
+        if (align.value() <= 0) {
+            throw new CodecException(element, "Invalid alignment");
+        }
+        return align.value();
+    }
+
+    private CodecField parseField(VariableElement field, Order.Endian classOrder) throws CodecException {
+        Set<Modifier> mods = field.getModifiers();
+        if (mods.contains(Modifier.PRIVATE) || mods.contains(Modifier.FINAL)) {
+            throw new CodecException(field, "Codec fields must not be private or final");
+        }
+
+        Fixed fixed = field.getAnnotation(Fixed.class);
+        Align align = field.getAnnotation(Align.class);
+        Order order = field.getAnnotation(Order.class);
+
+        if (fixed != null && fixed.value() < 0) {
+            throw new CodecException(field, "Invalid fixed size");
+        }
+
+        TypeMirror type = field.asType();
+        int count = -1;
+
+        if (type.getKind() == TypeKind.ARRAY) {
+            if (fixed == null) {
+                throw new CodecException(field, "Array fields require @Fixed");
+            }
+
+            type = ((ArrayType) type).getComponentType();
+            count = fixed.value();
+
+            if (!type.getKind().isPrimitive()) {
+                throw new CodecException(field, "Only arrays of primitive types are supported");
+            }
+        }
+
+        Kind kind;
+
+        if (type.getKind().isPrimitive()) {
+            if (fixed != null && count < 0) {
+                throw new CodecException(field, "@Fixed can't be applied to primitive fields");
+            }
+            kind = primitiveKind(field, type.getKind());
+        } else if (isType(type, "java.lang.String")) {
+            if (fixed != null) {
+                kind = Kind.STRING_FIXED;
+                count = fixed.value();
+            } else {
+                kind = Kind.STRING_NULL;
+            }
+        } else if (isType(type, "info.ata4.io.Struct")) {
+            kind = Kind.STRUCT;
+        } else {
+            throw new CodecException(field, "Unsupported field type " + type);
+        }
+
+        return new CodecField(field.getSimpleName().toString(), kind,
+                type.toString(), count,
+                align == null ? 0 : checkAlign(field, align),
+                order == null ? classOrder : order.value());
+    }
+
+    private boolean isType(TypeMirror type, String name) {
+        TypeElement element = processingEnv.getElementUtils().getTypeElement(name);
+        return processingEnv.getTypeUtils().isAssignable(type, element.asType());
+    }
+
+    private Kind primitiveKind(VariableElement field, TypeKind type) throws CodecException {
+        if (field.getAnnotation(UInt8.class) != null) {
+            return checkKind(field, Kind.UINT8, type, TypeKind.SHORT, TypeKind.INT, TypeKind.LONG);
+        }
+
+        if (field.getAnnotation(UInt16.class) != null) {
+            return checkKind(field, Kind.UINT16, type, TypeKind.INT, TypeKind.LONG);
+        }
+
+        if (field.getAnnotation(UInt32.class) != null) {
+            return checkKind(field, Kind.UINT32, type, TypeKind.LONG);
+        }
+
+        if (field.getAnnotation(Half.class) != null) {
+            return checkKind(field, Kind.HALF, type, TypeKind.FLOAT);
+        }
+
+        switch (type) {
+            case BOOLEAN:
+                return Kind.BOOLEAN;
+            case BYTE:
+                return Kind.BYTE;
+            case SHORT:
+                return Kind.SHORT;
+            case INT:
+                return Kind.INT;
+            case LONG:
+                return Kind.LONG;
+            case FLOAT:
+                return Kind.FLOAT;
+            case DOUBLE:
+                return Kind.DOUBLE;
+            default:
+                throw new CodecException(field, "Unsupported field type " + type);
+        }
+    }
+
+    private Kind checkKind(VariableElement field, Kind kind, TypeKind type, TypeKind... allowed) throws CodecException {
+        if (!Arrays.asList(allowed).contains(type)) {
+            throw new CodecException(field, kind + " can't be stored in a field of type " + type);
+        }
+        return kind;
+    }
+}
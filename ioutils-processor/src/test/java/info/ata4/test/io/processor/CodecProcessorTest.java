@@ -0,0 +1,130 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.processor;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataReaders;
+import info.ata4.io.DataWriter;
+import info.ata4.io.DataWriters;
+import info.ata4.io.buffer.source.ReadableByteChannelSource;
+import info.ata4.io.buffer.source.WritableByteChannelSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class CodecProcessorTest {
+    
+    private static FixedRecord createFixed() {
+        FixedRecord record = new FixedRecord();
+        record.flags = 0xfedc;
+        record.weight = 0.5f;
+        record.id = 0x0102030405060708L;
+        record.name = "test";
+        record.levels = new short[] {1, 200, 255};
+        record.magic = 0xcafebabe;
+        record.tail = 42;
+        return record;
+    }
+    
+    private static void assertFixed(FixedRecord expected, FixedRecord actual) {
+        assertEquals(expected.flags, actual.flags);
+        assertEquals(expected.weight, actual.weight, 0.001);
+        assertEquals(expected.id, actual.id);
+        assertEquals(expected.name, actual.name);
+        assertArrayEquals(expected.levels, actual.levels);
+        assertEquals(expected.magic, actual.magic);
+        assertEquals(expected.tail, actual.tail);
+    }
+    
+    @Test
+    public void testFixedLayout() throws IOException {
+        assertEquals(32, FixedRecordCodec.SIZEOF);
+        
+        ByteBuffer bb = ByteBuffer.allocate(FixedRecordCodec.SIZEOF);
+        DataWriter out = DataWriters.forByteBuffer(bb);
+        out.writeStruct(createFixed());
+        
+        assertFalse(bb.hasRemaining());
+        
+        // little endian except for the magic number
+        bb.order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals((short) 0xfedc, bb.getShort(0));
+        assertEquals(0x0102030405060708L, bb.getLong(8));
+        assertEquals('t', bb.get(16));
+        assertEquals(0, bb.get(20));
+        assertEquals((byte) 200, bb.get(25));
+        bb.order(ByteOrder.BIG_ENDIAN);
+        assertEquals(0xcafebabe, bb.getInt(27));
+        assertEquals(42, bb.get(31));
+        
+        // the byte order of the writer is restored
+        assertEquals(ByteOrder.BIG_ENDIAN, out.order());
+        
+        bb.rewind();
+        FixedRecord record = new FixedRecord();
+        DataReaders.forByteBuffer(bb).readStruct(record);
+        assertFixed(createFixed(), record);
+    }
+    
+    @Test
+    public void testFixedSmallBuffer() throws IOException {
+        ByteBuffer bb = ByteBuffer.allocate(FixedRecordCodec.SIZEOF);
+        DataWriters.forByteBuffer(bb).writeStruct(createFixed());
+        
+        // buffers smaller than the record use the field by field path
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DataWriter out = new DataWriter(new WritableByteChannelSource(ByteBuffer.allocate(16), Channels.newChannel(bos)))) {
+            out.writeStruct(createFixed());
+        }
+        assertArrayEquals(bb.array(), bos.toByteArray());
+        
+        FixedRecord record = new FixedRecord();
+        try (DataReader in = new DataReader(new ReadableByteChannelSource(ByteBuffer.allocate(16), Channels.newChannel(new ByteArrayInputStream(bos.toByteArray()))))) {
+            in.readStruct(record);
+        }
+        assertFixed(createFixed(), record);
+    }
+    
+    @Test
+    public void testVariable() throws IOException {
+        VariableRecord record = new VariableRecord();
+        record.count = 7;
+        record.label = "variable";
+        record.nested = createFixed();
+        record.values = new double[] {1.5, -2.25};
+        
+        ByteBuffer bb = ByteBuffer.allocate(256);
+        DataWriter out = DataWriters.forByteBuffer(bb);
+        out.writeStruct(record);
+        
+        // 4 + 9 + 32 bytes, aligned to 48
+        assertEquals(48 + 16, out.position());
+        
+        bb.rewind();
+        VariableRecord recordRead = new VariableRecord();
+        DataReader in = DataReaders.forByteBuffer(bb);
+        in.readStruct(recordRead);
+        
+        assertEquals(48 + 16, in.position());
+        assertEquals(7, recordRead.count);
+        assertEquals("variable", recordRead.label);
+        assertFixed(createFixed(), recordRead.nested);
+        assertArrayEquals(new double[] {1.5, -2.25}, recordRead.values, 0);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.processor;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataWriter;
+import info.ata4.io.Struct;
+import info.ata4.io.struct.Align;
+import info.ata4.io.struct.Codec;
+import info.ata4.io.struct.Fixed;
+import info.ata4.io.struct.Half;
+import info.ata4.io.struct.Order;
+import info.ata4.io.struct.UInt16;
+import info.ata4.io.struct.UInt8;
+import java.io.IOException;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+@Codec
+@Align(4)
+@Order(Order.Endian.LITTLE)
+public class FixedRecord implements Struct {
+    
+    static final int VERSION = 1;
+    
+    @UInt16
+    int flags;
+    
+    @Half
+    float weight;
+    
+    @Align(8)
+    long id;
+    
+    @Fixed(8)
+    String name;
+    
+    @Fixed(3)
+    @UInt8
+    short[] levels;
+    
+    @Order(Order.Endian.BIG)
+    int magic;
+    
+    byte tail;
+    
+    transient int cached;
+
+    @Override
+    public void read(DataReader in) throws IOException {
+        FixedRecordCodec.read(this, in);
+    }
+
+    @Override
+    public void write(DataWriter out) throws IOException {
+        FixedRecordCodec.write(this, out);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.processor;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataWriter;
+import info.ata4.io.Struct;
+import info.ata4.io.struct.Align;
+import info.ata4.io.struct.Codec;
+import info.ata4.io.struct.Fixed;
+import java.io.IOException;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+@Codec
+public class VariableRecord implements Struct {
+    
+    int count;
+    
+    String label;
+    
+    FixedRecord nested = new FixedRecord();
+    
+    @Align(4)
+    @Fixed(2)
+    double[] values;
+
+    @Override
+    public void read(DataReader in) throws IOException {
+        VariableRecordCodec.read(this, in);
+    }
+
+    @Override
+    public void write(DataWriter out) throws IOException {
+        VariableRecordCodec.write(this, out);
+    }
+}
@@ -26,6 +26,22 @@ public abstract class DataBridge implements Seekable, Closeable, Swappable {
     public DataBridge(BufferedSource buf) {
         this.buf = buf;
     }
+    
+    /**
+     * Returns the buffered source of this reader or writer, for direct buffer
+     * access by generated struct codecs and similar code.
+     * 
+     * @return buffered source
+     */
+    public BufferedSource source() {
+        return buf;
+    }
+    
+    protected static void checkBounds(int size, int off, int len) {
+        if (off < 0 || len < 0 || off > size - len) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
 
     ///////////////
     // Swappable //
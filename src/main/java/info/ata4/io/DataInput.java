@@ -12,6 +12,11 @@ package info.ata4.io;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
 
 /**
  * Custom DataInput interface with better handling for unsigned data types and
@@ -27,6 +32,8 @@ public interface DataInput extends Swappable {
     
     public void readBuffer(ByteBuffer buf) throws IOException;
     
+    public void readBuffers(ByteBuffer... bufs) throws IOException;
+    
     public byte readByte() throws IOException;
     
     public int readUnsignedByte() throws IOException;
@@ -59,6 +66,16 @@ public interface DataInput extends Swappable {
      */
     public BigInteger readUnsignedLong() throws IOException;
     
+    /**
+     * Reads a 64 bit unsigned long number and returns its bits as long. Use
+     * {@link info.ata4.io.util.UnsignedLongs} for operations that differ for
+     * unsigned numbers.
+     * 
+     * @return unsigned long as long
+     * @throws IOException 
+     */
+    public long readUnsignedLongBits() throws IOException;
+    
     /**
      * Reads a half-precision 16 bit floating-point number according to
      * IEEE 754-2008. The result is returned as normal 32 bit float.
@@ -71,4 +88,89 @@ public interface DataInput extends Swappable {
     public float readFloat() throws IOException;
     
     public double readDouble() throws IOException;
+    
+    public void readShorts(short[] s) throws IOException;
+    
+    public void readShorts(short[] s, int off, int len) throws IOException;
+    
+    /**
+     * Reads as many 16 bit integer numbers as there are remaining elements in
+     * the given buffer.
+     * 
+     * @param s destination buffer
+     * @throws IOException 
+     */
+    public void readShorts(ShortBuffer s) throws IOException;
+    
+    public void readInts(int[] i) throws IOException;
+    
+    public void readInts(int[] i, int off, int len) throws IOException;
+    
+    public void readInts(IntBuffer i) throws IOException;
+    
+    public void readLongs(long[] l) throws IOException;
+    
+    public void readLongs(long[] l, int off, int len) throws IOException;
+    
+    public void readUnsignedLongs(long[] l) throws IOException;
+    
+    public void readUnsignedLongs(long[] l, int off, int len) throws IOException;
+    
+    public void readLongs(LongBuffer l) throws IOException;
+    
+    public void readFloats(float[] f) throws IOException;
+    
+    public void readFloats(float[] f, int off, int len) throws IOException;
+    
+    public void readFloats(FloatBuffer f) throws IOException;
+    
+    public void readDoubles(double[] d) throws IOException;
+    
+    public void readDoubles(double[] d, int off, int len) throws IOException;
+    
+    public void readDoubles(DoubleBuffer d) throws IOException;
+    
+    /**
+     * Reads an array of half-precision 16 bit floating-point numbers.
+     * 
+     * @param f destination array
+     * @throws IOException 
+     */
+    public void readHalfs(float[] f) throws IOException;
+    
+    public void readHalfs(float[] f, int off, int len) throws IOException;
+    
+    /**
+     * Reads an unsigned LEB128 variable-length integer with up to 5 bytes.
+     * 
+     * @return integer
+     * @throws IOException if the encoding is longer than 5 bytes
+     */
+    public int readVarInt() throws IOException;
+    
+    /**
+     * Reads an unsigned LEB128 variable-length long with up to 10 bytes.
+     * 
+     * @return long
+     * @throws IOException if the encoding is longer than 10 bytes
+     */
+    public long readVarLong() throws IOException;
+    
+    /**
+     * Reads a ZigZag-encoded signed variable-length integer.
+     * 
+     * @return integer
+     * @throws IOException 
+     */
+    public int readZigZagInt() throws IOException;
+    
+    public long readZigZagLong() throws IOException;
+    
+    public void readVarInts(int[] i) throws IOException;
+    
+    public void readVarInts(int[] i, int off, int len) throws IOException;
+    
+    public void readVarLongs(long[] l) throws IOException;
+    
+    public void readVarLongs(long[] l, int off, int len) throws IOException;
 }
@@ -0,0 +1,35 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code.  In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io;
+
+import java.nio.file.OpenOption;
+
+/**
+ * Additional options for {@link DataReaders#forFile} and {@link DataWriters#forFile}
+ * that select the type of buffered source. These options can be mixed freely
+ * with {@link java.nio.file.StandardOpenOption}.
+ * 
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public enum DataOpenOption implements OpenOption {
+    
+    /**
+     * Maps the file to memory instead of reading and writing it through a
+     * buffered channel. Files of any size are supported.
+     */
+    MEMORY_MAPPED,
+    
+    /**
+     * Writes the file sequentially and hands full buffers to a background
+     * writer. Writers created with this option can't be positioned. Has no
+     * effect for readers.
+     */
+    WRITE_BEHIND
+}
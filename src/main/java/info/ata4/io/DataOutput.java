@@ -12,6 +12,11 @@ package info.ata4.io;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
 
 /**
  * Custom DataOutput interface with better handling for unsigned data types and
@@ -27,6 +32,8 @@ public interface DataOutput extends Swappable {
     
     public void writeBuffer(ByteBuffer buf) throws IOException;
     
+    public void writeBuffers(ByteBuffer... bufs) throws IOException;
+    
     public void writeByte(byte b) throws IOException;
     
     public void writeUnsignedByte(int b) throws IOException;
@@ -47,6 +54,8 @@ public interface DataOutput extends Swappable {
     
     public void writeUnsignedLong(BigInteger l) throws IOException;
     
+    public void writeUnsignedLong(long l) throws IOException;
+    
     /**
      * Writes a float as half-precision 16 bit floating-point number according to
      * IEEE 754-2008.
@@ -59,4 +68,72 @@ public interface DataOutput extends Swappable {
     public void writeFloat(float f) throws IOException;
     
     public void writeDouble(double d) throws IOException;
+    
+    public void writeShorts(short[] s) throws IOException;
+    
+    public void writeShorts(short[] s, int off, int len) throws IOException;
+    
+    /**
+     * Writes all remaining elements of the given buffer as 16 bit integer numbers.
+     * 
+     * @param s source buffer
+     * @throws IOException 
+     */
+    public void writeShorts(ShortBuffer s) throws IOException;
+    
+    public void writeInts(int[] i) throws IOException;
+    
+    public void writeInts(int[] i, int off, int len) throws IOException;
+    
+    public void writeInts(IntBuffer i) throws IOException;
+    
+    public void writeLongs(long[] l) throws IOException;
+    
+    public void writeLongs(long[] l, int off, int len) throws IOException;
+    
+    public void writeUnsignedLongs(long[] l) throws IOException;
+    
+    public void writeUnsignedLongs(long[] l, int off, int len) throws IOException;
+    
+    public void writeLongs(LongBuffer l) throws IOException;
+    
+    public void writeFloats(float[] f) throws IOException;
+    
+    public void writeFloats(float[] f, int off, int len) throws IOException;
+    
+    public void writeFloats(FloatBuffer f) throws IOException;
+    
+    public void writeDoubles(double[] d) throws IOException;
+    
+    public void writeDoubles(double[] d, int off, int len) throws IOException;
+    
+    public void writeDoubles(DoubleBuffer d) throws IOException;
+    
+    public void writeHalfs(float[] f) throws IOException;
+    
+    public void writeHalfs(float[] f, int off, int len) throws IOException;
+    
+    /**
+     * Writes an integer as unsigned LEB128 variable-length integer. Negative
+     * numbers always use 5 bytes, use {@link #writeZigZagInt} for signed
+     * numbers.
+     * 
+     * @param v integer
+     * @throws IOException 
+     */
+    public void writeVarInt(int v) throws IOException;
+    
+    public void writeVarLong(long v) throws IOException;
+    
+    public void writeZigZagInt(int v) throws IOException;
+    
+    public void writeZigZagLong(long v) throws IOException;
+    
+    public void writeVarInts(int[] i) throws IOException;
+    
+    public void writeVarInts(int[] i, int off, int len) throws IOException;
+    
+    public void writeVarLongs(long[] l) throws IOException;
+    
+    public void writeVarLongs(long[] l, int off, int len) throws IOException;
 }
@@ -9,17 +9,45 @@
  */
 package info.ata4.io;
 
+import info.ata4.io.buffer.ByteBufferUtils;
 import info.ata4.io.buffer.source.BufferedSource;
 import info.ata4.io.buffer.source.BufferedSourceChannel;
+import info.ata4.io.buffer.source.ForkableSource;
+import info.ata4.io.buffer.source.InflaterSource;
+import info.ata4.io.buffer.source.NonForkableSourceException;
+import info.ata4.io.buffer.source.NonSliceableSourceException;
+import info.ata4.io.buffer.source.ScatteringSource;
+import info.ata4.io.buffer.source.SeekableByteChannelSource;
+import info.ata4.io.buffer.source.SliceableSource;
+import info.ata4.io.channel.ChannelUtils;
+import info.ata4.io.util.ByteString;
 import info.ata4.io.util.HalfFloat;
+import info.ata4.io.util.StringCache;
+import info.ata4.io.util.UnsignedLongs;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.Channel;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * 
@@ -27,7 +55,20 @@ import java.nio.charset.StandardCharsets;
  */
 public class DataReader extends DataBridge implements DataInput, StringInput {
     
-    private static final BigInteger TWO_COMPL_REF = BigInteger.ONE.shiftLeft(Long.SIZE);
+    // minimum number of structs per parallel task
+    private static final int MIN_STRUCTS_PER_TASK = 256;
+    
+    // constants for null byte detection in longs
+    private static final long SWAR_ONES = 0x0101010101010101L;
+    private static final long SWAR_HIGHS = 0x8080808080808080L;
+    
+    // reused for string decoding
+    private CharsetDecoder decoder;
+    private CharBuffer chars;
+    private ByteBuffer strBuf;
+    private final ByteString stringView = new ByteString();
+    
+    private StringCache stringCache;
     
     public DataReader(BufferedSource buf) {
         super(buf);
@@ -37,9 +78,320 @@ public class DataReader extends DataBridge implements DataInput, StringInput {
         struct.read(this);
     }
     
+    /**
+     * Reads an array of structs with a fixed stride, starting at the current
+     * position. Afterwards, the position is set to the end of the array.
+     * 
+     * Each struct is read at a multiple of {@code stride} if the source is
+     * seekable. Otherwise, the structs are read back to back and each struct
+     * must consume exactly {@code stride} bytes.
+     * 
+     * @param <T> struct type
+     * @param factory factory for new struct instances
+     * @param count number of structs
+     * @param stride distance between the starts of two structs in bytes
+     * @return list of structs in order
+     * @throws IOException if an I/O error occurs
+     */
+    public <T extends Struct> List<T> readStructs(StructFactory<T> factory, int count, long stride) throws IOException {
+        if (count < 0 || stride < 0) {
+            throw new IllegalArgumentException();
+        }
+        
+        List<T> structs = new ArrayList<>(count);
+        
+        if (!buf.canSeek()) {
+            for (int i = 0; i < count; i++) {
+                T struct = factory.create();
+                struct.read(this);
+                structs.add(struct);
+            }
+            return structs;
+        }
+        
+        long start = position();
+        for (int i = 0; i < count; i++) {
+            position(start + i * stride);
+            T struct = factory.create();
+            struct.read(this);
+            structs.add(struct);
+        }
+        
+        position(start + count * stride);
+        
+        return structs;
+    }
+    
+    /**
+     * Reads an array of structs with a fixed stride in parallel, starting at
+     * the current position. Afterwards, the position is set to the end of the
+     * array.
+     * 
+     * The range of structs is split into tasks that are executed in the given
+     * pool. Every task reads its structs from a forked reader, so the factory
+     * and the struct implementation must be thread-safe in that respect.
+     * Readers for buffers, memory-mapped files and shared files can be forked.
+     * For all other sources, the structs are read sequentially in the current
+     * thread.
+     * 
+     * @param <T> struct type
+     * @param factory factory for new struct instances
+     * @param count number of structs
+     * @param stride distance between the starts of two structs in bytes
+     * @param pool pool for the parallel tasks
+     * @return list of structs in order
+     * @throws IOException if an I/O error occurs
+     */
+    public <T extends Struct> List<T> readStructs(StructFactory<T> factory, int count, long stride, ForkJoinPool pool) throws IOException {
+        if (count < 0 || stride < 0) {
+            throw new IllegalArgumentException();
+        }
+        
+        int tasks = Math.min(pool.getParallelism() * 4, count / MIN_STRUCTS_PER_TASK);
+        
+        if (!(buf instanceof ForkableSource) || !buf.canSeek() || tasks < 2) {
+            return readStructs(factory, count, stride);
+        }
+        
+        long start = position();
+        Object[] structs = new Object[count];
+        
+        // create all forks in this thread, the source isn't thread-safe
+        List<StructReadTask> taskList = new ArrayList<>(tasks);
+        try {
+            int perTask = (count + tasks - 1) / tasks;
+            for (int from = 0; from < count; from += perTask) {
+                int to = Math.min(count, from + perTask);
+                DataReader in = fork();
+                taskList.add(new StructReadTask(in, factory, structs, from, to, start, stride));
+            }
+            
+            pool.invoke(new StructReadAllTask(taskList));
+        } catch (StructReadException ex) {
+            throw (IOException) ex.getCause();
+        } finally {
+            for (StructReadTask task : taskList) {
+                task.in.close();
+            }
+        }
+        
+        position(start + count * stride);
+        
+        @SuppressWarnings("unchecked")
+        List<T> list = (List<T>) (List<?>) Arrays.asList(structs);
+        
+        return list;
+    }
+    
+    private static class StructReadException extends RuntimeException {
+        
+        private StructReadException(IOException cause) {
+            super(cause);
+        }
+    }
+    
+    private static class StructReadAllTask extends RecursiveAction {
+        
+        private final List<StructReadTask> tasks;
+
+        private StructReadAllTask(List<StructReadTask> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(tasks);
+        }
+    }
+    
+    private static class StructReadTask extends RecursiveAction {
+        
+        private final DataReader in;
+        private final StructFactory<?> factory;
+        private final Object[] structs;
+        private final int from;
+        private final int to;
+        private final long start;
+        private final long stride;
+
+        private StructReadTask(DataReader in, StructFactory<?> factory, Object[] structs, int from, int to, long start, long stride) {
+            this.in = in;
+            this.factory = factory;
+            this.structs = structs;
+            this.from = from;
+            this.to = to;
+            this.start = start;
+            this.stride = stride;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                for (int i = from; i < to; i++) {
+                    in.position(start + i * stride);
+                    Struct struct = factory.create();
+                    struct.read(in);
+                    structs[i] = struct;
+                }
+            } catch (IOException ex) {
+                throw new StructReadException(ex);
+            }
+        }
+    }
+    
+    /**
+     * Creates a new reader for the same data with its own buffer and position,
+     * starting at the current position. The new reader may be used concurrently
+     * with this reader in another thread and must be closed separately.
+     * 
+     * @return new reader
+     * @throws IOException if the reader couldn't be created
+     * @throws NonForkableSourceException if the source doesn't support forking
+     */
+    public DataReader fork() throws IOException {
+        if (!(buf instanceof ForkableSource)) {
+            throw new NonForkableSourceException();
+        }
+        return new DataReader(((ForkableSource) buf).fork());
+    }
+    
+    /**
+     * Creates a new reader for a region of the data without copying it. The
+     * positions of the new reader are relative to the start of the region. The
+     * new reader must be closed separately.
+     * 
+     * @param offset start of the region
+     * @param length length of the region
+     * @return new reader
+     * @throws IOException if the reader couldn't be created
+     * @throws NonSliceableSourceException if the source doesn't support slicing
+     */
+    public DataReader slice(long offset, long length) throws IOException {
+        if (!(buf instanceof SliceableSource)) {
+            throw new NonSliceableSourceException();
+        }
+        return new DataReader(((SliceableSource) buf).slice(offset, length));
+    }
+    
+    /**
+     * Creates a new reader that decompresses a zlib or raw deflate stream
+     * starting at the current position. The new reader uses the byte order of
+     * this reader. This reader is positioned directly after the end of the
+     * compressed stream once the new reader has read it completely, also if
+     * the source isn't seekable. Closing the new reader doesn't close this
+     * reader.
+     * 
+     * @param nowrap if true, read a raw deflate stream without zlib header and
+     *               checksum
+     * @return new reader
+     */
+    public DataReader inflate(boolean nowrap) {
+        InflaterSource src = new InflaterSource(buf, nowrap);
+        src.order(buf.order());
+        return new DataReader(src);
+    }
+    
+    public DataReader inflate() {
+        return inflate(false);
+    }
+    
+    /**
+     * Returns the cache that is used for decoded strings.
+     * 
+     * @return string cache or null if strings aren't cached
+     */
+    public StringCache getStringCache() {
+        return stringCache;
+    }
+    
+    /**
+     * Sets a cache for decoded strings. Strings with the same raw bytes and
+     * character set are then returned as the same instance without decoding
+     * them again. The cache may be shared by readers that are used in the same
+     * thread.
+     * 
+     * @param stringCache string cache or null to disable caching
+     */
+    public void setStringCache(StringCache stringCache) {
+        this.stringCache = stringCache;
+    }
+    
     public InputStream stream() {
         return Channels.newInputStream(new BufferedSourceChannel(buf));
     }
+    
+    /**
+     * Returns the file channel of the source after discarding its buffer, or
+     * null if the source isn't backed by a file channel.
+     */
+    private FileChannel fileChannel() throws IOException {
+        if (!(buf instanceof SeekableByteChannelSource) || !buf.canRead()) {
+            return null;
+        }
+        
+        Channel chan = ChannelUtils.unwrap(((SeekableByteChannelSource) buf).channel());
+        return chan instanceof FileChannel ? (FileChannel) chan : null;
+    }
+    
+    /**
+     * Transfers bytes from the current position to a channel. If the source is
+     * backed by a file channel, the bytes are transferred with
+     * {@link FileChannel#transferTo}, which usually avoids copying them
+     * through user space. Otherwise, the bytes are written from the buffer of
+     * the source. Buffered target channels are flushed and bypassed.
+     * 
+     * @param target destination channel
+     * @param count number of bytes to transfer
+     * @throws IOException if there was a reading or writing error
+     * @throws EOFException if there are less than {@code count} bytes
+     *         available or the target didn't accept all bytes
+     */
+    public void transferTo(WritableByteChannel target, long count) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException();
+        }
+        
+        target = (WritableByteChannel) ChannelUtils.unwrap(target);
+        
+        FileChannel fc = fileChannel();
+        if (fc != null) {
+            long pos = fc.position();
+            if (count > fc.size() - pos) {
+                throw new EOFException();
+            }
+            
+            long n = 0;
+            long r;
+            while (n < count && (r = fc.transferTo(pos + n, count - n, target)) > 0) {
+                n += r;
+            }
+            
+            fc.position(pos + n);
+            
+            if (n < count) {
+                throw new EOFException();
+            }
+            return;
+        }
+        
+        while (count > 0) {
+            ByteBuffer bb = buf.requestRead(1);
+            int len = (int) Math.min(bb.remaining(), count);
+            int limit = bb.limit();
+            bb.limit(bb.position() + len);
+            
+            while (bb.hasRemaining() && target.write(bb) > 0);
+            
+            boolean complete = !bb.hasRemaining();
+            bb.limit(limit);
+            
+            if (!complete) {
+                throw new EOFException();
+            }
+            
+            count -= len;
+        }
+    }
 
     ///////////////
     // DataInput //
@@ -58,6 +410,29 @@ public class DataReader extends DataBridge implements DataInput, StringInput {
         }
     }
     
+    /**
+     * Fills a sequence of buffers. If the source supports it, all buffers are
+     * filled with one scattering read on the underlying channel.
+     * 
+     * @param dsts destination buffers
+     * @throws IOException 
+     */
+    @Override
+    public void readBuffers(ByteBuffer... dsts) throws IOException {
+        if (!(buf instanceof ScatteringSource)) {
+            for (ByteBuffer dst : dsts) {
+                readBuffer(dst);
+            }
+            return;
+        }
+        
+        ScatteringSource src = (ScatteringSource) buf;
+        while (ByteBufferUtils.remaining(dsts) > 0 && src.read(dsts) > 0);
+        if (ByteBufferUtils.remaining(dsts) > 0) {
+            throw new EOFException();
+        }
+    }
+    
     @Override
     public boolean readBoolean() throws IOException {
         return buf.requestRead(1).get() != 0;
@@ -120,14 +495,12 @@ public class DataReader extends DataBridge implements DataInput, StringInput {
     
     @Override
     public BigInteger readUnsignedLong() throws IOException {        
-        BigInteger v = BigInteger.valueOf(readLong());
-        
-        // convert to unsigned
-        if (v.compareTo(BigInteger.ZERO) < 0) {
-            v = v.add(TWO_COMPL_REF);
-        }
-        
-        return v;
+        return UnsignedLongs.toBigInteger(readLong());
+    }
+    
+    @Override
+    public long readUnsignedLongBits() throws IOException {
+        return readLong();
     }
     
     @Override
@@ -136,24 +509,367 @@ public class DataReader extends DataBridge implements DataInput, StringInput {
         return HalfFloat.intBitsToFloat(hbits);
     }
     
+    @Override
+    public void readHalfs(float[] f) throws IOException {
+        readHalfs(f, 0, f.length);
+    }
+    
+    @Override
+    public void readHalfs(float[] f, int off, int len) throws IOException {
+        checkBounds(f.length, off, len);
+        while (len > 0) {
+            ByteBuffer bb = buf.requestRead(2);
+            int n = Math.min(len, bb.remaining() / 2);
+            for (int i = 0; i < n; i++) {
+                f[off + i] = HalfFloat.intBitsToFloat(bb.getShort());
+            }
+            off += n;
+            len -= n;
+        }
+    }
+    
+    @Override
+    public void readShorts(short[] s) throws IOException {
+        readShorts(s, 0, s.length);
+    }
+    
+    @Override
+    public void readShorts(short[] s, int off, int len) throws IOException {
+        checkBounds(s.length, off, len);
+        while (len > 0) {
+            // copy as many elements as currently buffered
+            ByteBuffer bb = buf.requestRead(2);
+            int n = Math.min(len, bb.remaining() / 2);
+            bb.asShortBuffer().get(s, off, n);
+            bb.position(bb.position() + n * 2);
+            off += n;
+            len -= n;
+        }
+    }
+    
+    @Override
+    public void readShorts(ShortBuffer s) throws IOException {
+        while (s.hasRemaining()) {
+            ByteBuffer bb = buf.requestRead(2);
+            int n = Math.min(s.remaining(), bb.remaining() / 2);
+            ShortBuffer sb = bb.asShortBuffer();
+            sb.limit(n);
+            s.put(sb);
+            bb.position(bb.position() + n * 2);
+        }
+    }
+    
+    @Override
+    public void readInts(int[] i) throws IOException {
+        readInts(i, 0, i.length);
+    }
+    
+    @Override
+    public void readInts(int[] i, int off, int len) throws IOException {
+        checkBounds(i.length, off, len);
+        while (len > 0) {
+            ByteBuffer bb = buf.requestRead(4);
+            int n = Math.min(len, bb.remaining() / 4);
+            bb.asIntBuffer().get(i, off, n);
+            bb.position(bb.position() + n * 4);
+            off += n;
+            len -= n;
+        }
+    }
+    
+    @Override
+    public void readInts(IntBuffer i) throws IOException {
+        while (i.hasRemaining()) {
+            ByteBuffer bb = buf.requestRead(4);
+            int n = Math.min(i.remaining(), bb.remaining() / 4);
+            IntBuffer ib = bb.asIntBuffer();
+            ib.limit(n);
+            i.put(ib);
+            bb.position(bb.position() + n * 4);
+        }
+    }
+    
+    @Override
+    public void readLongs(long[] l) throws IOException {
+        readLongs(l, 0, l.length);
+    }
+    
+    @Override
+    public void readLongs(long[] l, int off, int len) throws IOException {
+        checkBounds(l.length, off, len);
+        while (len > 0) {
+            ByteBuffer bb = buf.requestRead(8);
+            int n = Math.min(len, bb.remaining() / 8);
+            bb.asLongBuffer().get(l, off, n);
+            bb.position(bb.position() + n * 8);
+            off += n;
+            len -= n;
+        }
+    }
+    
+    @Override
+    public void readUnsignedLongs(long[] l) throws IOException {
+        readLongs(l);
+    }
+    
+    @Override
+    public void readUnsignedLongs(long[] l, int off, int len) throws IOException {
+        readLongs(l, off, len);
+    }
+    
+    @Override
+    public void readLongs(LongBuffer l) throws IOException {
+        while (l.hasRemaining()) {
+            ByteBuffer bb = buf.requestRead(8);
+            int n = Math.min(l.remaining(), bb.remaining() / 8);
+            LongBuffer lb = bb.asLongBuffer();
+            lb.limit(n);
+            l.put(lb);
+            bb.position(bb.position() + n * 8);
+        }
+    }
+    
+    @Override
+    public void readFloats(float[] f) throws IOException {
+        readFloats(f, 0, f.length);
+    }
+    
+    @Override
+    public void readFloats(float[] f, int off, int len) throws IOException {
+        checkBounds(f.length, off, len);
+        while (len > 0) {
+            ByteBuffer bb = buf.requestRead(4);
+            int n = Math.min(len, bb.remaining() / 4);
+            bb.asFloatBuffer().get(f, off, n);
+            bb.position(bb.position() + n * 4);
+            off += n;
+            len -= n;
+        }
+    }
+    
+    @Override
+    public void readFloats(FloatBuffer f) throws IOException {
+        while (f.hasRemaining()) {
+            ByteBuffer bb = buf.requestRead(4);
+            int n = Math.min(f.remaining(), bb.remaining() / 4);
+            FloatBuffer fb = bb.asFloatBuffer();
+            fb.limit(n);
+            f.put(fb);
+            bb.position(bb.position() + n * 4);
+        }
+    }
+    
+    @Override
+    public void readDoubles(double[] d) throws IOException {
+        readDoubles(d, 0, d.length);
+    }
+    
+    @Override
+    public void readDoubles(double[] d, int off, int len) throws IOException {
+        checkBounds(d.length, off, len);
+        while (len > 0) {
+            ByteBuffer bb = buf.requestRead(8);
+            int n = Math.min(len, bb.remaining() / 8);
+            bb.asDoubleBuffer().get(d, off, n);
+            bb.position(bb.position() + n * 8);
+            off += n;
+            len -= n;
+        }
+    }
+    
+    @Override
+    public void readDoubles(DoubleBuffer d) throws IOException {
+        while (d.hasRemaining()) {
+            ByteBuffer bb = buf.requestRead(8);
+            int n = Math.min(d.remaining(), bb.remaining() / 8);
+            DoubleBuffer db = bb.asDoubleBuffer();
+            db.limit(n);
+            d.put(db);
+            bb.position(bb.position() + n * 8);
+        }
+    }
+    
+    // maximum encoded lengths of LEB128 varints
+    private static final int VARINT_MAX_BYTES = 5;
+    private static final int VARLONG_MAX_BYTES = 10;
+    
+    private static int getVarInt(ByteBuffer bb) throws IOException {
+        int v = 0;
+        for (int shift = 0; shift < VARINT_MAX_BYTES * 7; shift += 7) {
+            byte b = bb.get();
+            v |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                return v;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+    
+    private static long getVarLong(ByteBuffer bb) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < VARLONG_MAX_BYTES * 7; shift += 7) {
+            byte b = bb.get();
+            v |= (b & 0x7fL) << shift;
+            if (b >= 0) {
+                return v;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+    
+    private int readVarIntSlow() throws IOException {
+        int v = 0;
+        for (int shift = 0; shift < VARINT_MAX_BYTES * 7; shift += 7) {
+            byte b = readByte();
+            v |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                return v;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+    
+    private long readVarLongSlow() throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < VARLONG_MAX_BYTES * 7; shift += 7) {
+            byte b = readByte();
+            v |= (b & 0x7fL) << shift;
+            if (b >= 0) {
+                return v;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+    
+    @Override
+    public int readVarInt() throws IOException {
+        // decode directly from the buffer unless the varint may cross its end
+        ByteBuffer bb = buf.requestRead(1);
+        if (bb.remaining() >= VARINT_MAX_BYTES) {
+            return getVarInt(bb);
+        }
+        return readVarIntSlow();
+    }
+    
+    @Override
+    public long readVarLong() throws IOException {
+        ByteBuffer bb = buf.requestRead(1);
+        if (bb.remaining() >= VARLONG_MAX_BYTES) {
+            return getVarLong(bb);
+        }
+        return readVarLongSlow();
+    }
+    
+    @Override
+    public int readZigZagInt() throws IOException {
+        int v = readVarInt();
+        return (v >>> 1) ^ -(v & 1);
+    }
+    
+    @Override
+    public long readZigZagLong() throws IOException {
+        long v = readVarLong();
+        return (v >>> 1) ^ -(v & 1);
+    }
+    
+    @Override
+    public void readVarInts(int[] i) throws IOException {
+        readVarInts(i, 0, i.length);
+    }
+    
+    @Override
+    public void readVarInts(int[] i, int off, int len) throws IOException {
+        checkBounds(i.length, off, len);
+        int end = off + len;
+        while (off < end) {
+            ByteBuffer bb = buf.requestRead(1);
+            while (off < end && bb.remaining() >= VARINT_MAX_BYTES) {
+                i[off++] = getVarInt(bb);
+            }
+            
+            // near the end of the buffer
+            if (off < end) {
+                i[off++] = readVarIntSlow();
+            }
+        }
+    }
+    
+    @Override
+    public void readVarLongs(long[] l) throws IOException {
+        readVarLongs(l, 0, l.length);
+    }
+    
+    @Override
+    public void readVarLongs(long[] l, int off, int len) throws IOException {
+        checkBounds(l.length, off, len);
+        int end = off + len;
+        while (off < end) {
+            ByteBuffer bb = buf.requestRead(1);
+            while (off < end && bb.remaining() >= VARLONG_MAX_BYTES) {
+                l[off++] = getVarLong(bb);
+            }
+            
+            if (off < end) {
+                l[off++] = readVarLongSlow();
+            }
+        }
+    }
+    
+    ////////////////
+    // ByteString //
+    ////////////////
+    
+    /**
+     * Reads a fixed-length string like {@link #readStringFixed(int)} without
+     * decoding it. The returned view is reused by this reader and is only
+     * valid until the next read.
+     * 
+     * @param length number of bytes including padding
+     * @return view of the string bytes
+     * @throws IOException 
+     */
+    public ByteString readStringViewFixed(int length) throws IOException {
+        return readStringView(length, true, stringView);
+    }
+    
+    /**
+     * Reads a fixed-length string like {@link #readStringFixed(int)} without
+     * decoding it. The bytes of the view are only valid until the next read.
+     * 
+     * @param length number of bytes including padding
+     * @param view view to bind to the string bytes
+     * @return the view
+     * @throws IOException 
+     */
+    public ByteString readStringViewFixed(int length, ByteString view) throws IOException {
+        return readStringView(length, true, view);
+    }
+    
+    public ByteString readStringViewNull(int limit) throws IOException {
+        return readStringViewNull0(limit, stringView);
+    }
+    
+    public ByteString readStringViewNull(int limit, ByteString view) throws IOException {
+        return readStringViewNull0(limit, view);
+    }
+    
+    public ByteString readStringViewPrefixed(Class<? extends Number> prefixType) throws IOException {
+        return readStringView(readStringPrefix(prefixType), false, stringView);
+    }
+    
+    public ByteString readStringViewPrefixed(Class<? extends Number> prefixType, ByteString view) throws IOException {
+        return readStringView(readStringPrefix(prefixType), false, view);
+    }
+    
     /////////////////
     // StringInput //
     /////////////////
     
     @Override
     public String readStringFixed(int length, Charset charset) throws IOException {
-        // read raw string including padding
-        byte[] raw = new byte[length];
-        readBytes(raw);
-        
-        // find offset to the first null byte, which is also the length of the
-        // string
-        length = 0;
-        while (length < raw.length && raw[length] != 0) {
-            length++;
-        }
-        
-        return new String(raw, 0, length, charset);
+        // read raw string including padding, the string itself ends at the
+        // first null byte
+        return decode(readStringView(length, true, stringView), charset);
     }
     
     @Override
@@ -161,16 +877,221 @@ public class DataReader extends DataBridge implements DataInput, StringInput {
         return readStringFixed(length, StandardCharsets.US_ASCII);
     }
 
-    @Override
-    public String readStringNull(int limit, Charset charset) throws IOException {
-        // read bytes until the first null byte
-        byte[] raw = new byte[limit];
-        int length = 0;
-        while (length < raw.length && (raw[length] = readByte()) != 0) {
-            length++;
+    /**
+     * Returns the absolute index of the first null byte in the buffer between
+     * the given indices or -1 if there is none. Eight bytes are tested at once
+     * as long as possible.
+     */
+    private static int indexOfNull(ByteBuffer bb, int from, int to) {
+        int i = from;
+        for (; i <= to - 8; i += 8) {
+            long v = bb.getLong(i);
+            // the expression is non-zero if any of the eight bytes is zero,
+            // regardless of the byte order
+            if (((v - SWAR_ONES) & ~v & SWAR_HIGHS) != 0) {
+                break;
+            }
+        }
+        for (; i < to; i++) {
+            if (bb.get(i) == 0) {
+                return i;
+            }
         }
+        return -1;
+    }
+    
+    /**
+     * Decodes the remaining bytes of a buffer to a string, using the string
+     * cache if there is one. Afterwards, the buffer position equals its limit.
+     */
+    private String decode(ByteBuffer bb, Charset charset) {
+        if (!bb.hasRemaining()) {
+            return "";
+        }
+        
+        if (stringCache != null) {
+            String str = stringCache.get(bb, charset);
+            if (str != null) {
+                bb.position(bb.limit());
+                return str;
+            }
+        }
+        
+        int start = bb.position();
+        
+        if (decoder == null || !decoder.charset().equals(charset)) {
+            // same replacement behavior as new String(byte[], Charset)
+            decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        
+        int maxChars = (int) Math.ceil(bb.remaining() * (double) decoder.maxCharsPerByte());
+        if (chars == null || chars.capacity() < maxChars) {
+            chars = CharBuffer.allocate(Math.max(maxChars, 256));
+        }
+        
+        chars.clear();
+        decoder.reset();
+        decoder.decode(bb, chars, true);
+        decoder.flush(chars);
+        chars.flip();
+        
+        String str = chars.toString();
+        
+        if (stringCache != null) {
+            bb.position(start);
+            stringCache.put(bb, charset, str);
+            bb.position(bb.limit());
+        }
+        
+        return str;
+    }
+    
+    /**
+     * Decodes the bytes of a view. The position and limit of the underlying
+     * buffer are restored afterwards.
+     */
+    private String decode(ByteString view, Charset charset) {
+        if (view.length() == 0) {
+            return "";
+        }
+        
+        ByteBuffer bb = view.buffer();
+        int posOld = bb.position();
+        int limitOld = bb.limit();
+        
+        bb.limit(view.offset() + view.length());
+        bb.position(view.offset());
+        try {
+            return decode(bb, charset);
+        } finally {
+            bb.limit(limitOld);
+            bb.position(posOld);
+        }
+    }
+    
+    /**
+     * Makes sure that the string buffer can hold the given number of bytes,
+     * keeping its current content.
+     */
+    private void ensureStringBuffer(int capacity) {
+        if (strBuf != null && strBuf.capacity() >= capacity) {
+            strBuf.limit(strBuf.capacity());
+            return;
+        }
+        
+        ByteBuffer strBufNew = ByteBuffer.allocate(Math.max(capacity, 128) * 2);
+        if (strBuf != null) {
+            strBuf.flip();
+            strBufNew.put(strBuf);
+        }
+        strBuf = strBufNew;
+    }
+    
+    /**
+     * Binds a view to the next {@code length} bytes in the source, up to the
+     * first null byte if {@code stopAtNull} is set. The view points into the
+     * source buffer if the bytes fit into it, otherwise into the string buffer.
+     */
+    private ByteString readStringView(int length, boolean stopAtNull, ByteString view) throws IOException {
+        if (length < 0) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        
+        if (length == 0) {
+            return view.bind(ByteBufferUtils.EMPTY, 0, 0);
+        }
+        
+        ByteBuffer bb;
+        if (length <= buf.bufferSize()) {
+            bb = buf.requestRead(length);
+        } else {
+            if (strBuf != null) {
+                strBuf.clear();
+            }
+            ensureStringBuffer(length);
+            readBytes(strBuf.array(), 0, length);
+            bb = strBuf;
+            bb.position(0);
+        }
+        
+        int start = bb.position();
+        int end = start + length;
+        int strEnd = end;
+        
+        if (stopAtNull) {
+            int term = indexOfNull(bb, start, end);
+            if (term != -1) {
+                strEnd = term;
+            }
+        }
+        
+        view.bind(bb, start, strEnd - start);
+        bb.position(end);
+        
+        return view;
+    }
+    
+    private ByteString readStringViewNull0(int limit, ByteString view) throws IOException {
+        // bytes of the string that were found before the last buffer refill
+        int carried = 0;
+        if (strBuf != null) {
+            strBuf.clear();
+        }
+        
+        while (carried < limit) {
+            ByteBuffer bb = buf.requestRead(1);
+            int start = bb.position();
+            int end = start + Math.min(bb.remaining(), limit - carried);
+            int term = indexOfNull(bb, start, end);
+            
+            if (term != -1 && carried == 0) {
+                // the whole string is inside the buffer, so use it in place
+                view.bind(bb, start, term - start);
+                bb.position(term + 1);
+                return view;
+            }
+            
+            // copy the bytes before the terminator or the end of the window
+            int n = (term == -1 ? end : term) - start;
+            ensureStringBuffer(carried + n);
+            
+            int limitOld = bb.limit();
+            bb.limit(start + n);
+            strBuf.put(bb);
+            bb.limit(limitOld);
+            carried += n;
+            
+            if (term != -1) {
+                // skip terminator
+                bb.position(term + 1);
+                break;
+            }
+        }
+        
+        if (carried == 0) {
+            return view.bind(ByteBufferUtils.EMPTY, 0, 0);
+        }
+        
+        return view.bind(strBuf, 0, carried);
+    }
+    
+    private int readStringPrefix(Class<? extends Number> prefixType) throws IOException {
+        if (prefixType == Byte.TYPE) {
+            return readUnsignedByte();
+        } else if (prefixType == Short.TYPE) {
+            return readUnsignedShort();
+        } else if (prefixType == Integer.TYPE) {
+            return (int) readUnsignedInt();
+        } else {
+            throw new IllegalArgumentException("Wrong prefix data type");
+        }
+    }
 
-        return new String(raw, 0, length, charset);
+    @Override
+    public String readStringNull(int limit, Charset charset) throws IOException {
+        return decode(readStringViewNull0(limit, stringView), charset);
     }
     
     @Override
@@ -185,25 +1106,8 @@ public class DataReader extends DataBridge implements DataInput, StringInput {
     
     @Override
     public <T extends Number> String readStringPrefixed(Class<T> prefixType, T limit, Charset charset) throws IOException {
-        Number length;
-        if (prefixType == Byte.TYPE) {
-            length = readUnsignedByte();
-        } else if (prefixType == Short.TYPE) {
-            length = readUnsignedShort();
-        } else if (prefixType == Integer.TYPE) {
-            length = readUnsignedInt();
-        } else {
-            throw new IllegalArgumentException("Wrong prefix data type");
-        }
-        
-        final int len = length.intValue();
-        if (len == 0) {
-            return "";
-        } else {
-            byte[] raw = new byte[len];
-            readBytes(raw);
-            return new String(raw, 0, len, charset);
-        }
+        int length = readStringPrefix(prefixType);
+        return decode(readStringView(length, false, stringView), charset);
     }
     
     @Override
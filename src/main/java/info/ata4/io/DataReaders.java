@@ -9,19 +9,31 @@
  */
 package info.ata4.io;
 
+import info.ata4.io.buffer.ByteBufferPool;
+import info.ata4.io.buffer.ByteBufferPools;
 import info.ata4.io.buffer.source.BufferedSource;
 import info.ata4.io.buffer.source.ByteBufferSource;
+import info.ata4.io.buffer.source.CompositeSource;
+import info.ata4.io.buffer.source.MappedFileSource;
 import info.ata4.io.buffer.source.ReadableByteChannelSource;
 import info.ata4.io.buffer.source.SeekableByteChannelSource;
+import info.ata4.io.buffer.source.SharedFileChannelSource;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.*;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  *
@@ -34,14 +46,14 @@ public class DataReaders {
     }
     
     public static DataReader forReadableByteChannel(ReadableByteChannel chan) throws IOException {
-        ByteBuffer bb = ByteBuffer.allocateDirect(1 << 18);
-        BufferedSource buf = new ReadableByteChannelSource(bb, chan); 
+        ByteBufferPool pool = ByteBufferPools.getDefault();
+        BufferedSource buf = new ReadableByteChannelSource(pool.acquire(1 << 18), chan, pool);
         return new DataReader(buf);
     }
     
     public static DataReader forSeekableByteChannel(SeekableByteChannel chan) throws IOException {
-        ByteBuffer bb = ByteBuffer.allocateDirect(1 << 16);
-        BufferedSource buf = new SeekableByteChannelSource(bb, chan); 
+        ByteBufferPool pool = ByteBufferPools.getDefault();
+        BufferedSource buf = new SeekableByteChannelSource(pool.acquire(1 << 16), chan, pool);
         return new DataReader(buf);
     }
     
@@ -50,7 +62,44 @@ public class DataReaders {
     }
     
     public static DataReader forFile(Path path, OpenOption... options) throws IOException {
-        return forSeekableByteChannel(Files.newByteChannel(path, options));
+        Set<OpenOption> optionSet = new HashSet<>(Arrays.asList(options));
+        optionSet.remove(DataOpenOption.WRITE_BEHIND);
+        if (optionSet.remove(DataOpenOption.MEMORY_MAPPED)) {
+            return forMappedFile(path, optionSet);
+        }
+        return forSeekableByteChannel(Files.newByteChannel(path, optionSet));
+    }
+    
+    /**
+     * Creates a reader for a file that can be forked into multiple readers
+     * sharing one file channel. See {@link DataReader#fork()}.
+     * 
+     * @param path file path
+     * @return new reader
+     * @throws IOException if the file couldn't be opened
+     */
+    public static DataReader forSharedFile(Path path) throws IOException {
+        return new DataReader(new SharedFileChannelSource(FileChannel.open(path, READ)));
+    }
+    
+    /**
+     * Creates a reader for a list of files that are read as one contiguous
+     * file, such as the parts of a split archive. The files are mapped into
+     * memory on demand and not copied.
+     * 
+     * @param paths file paths in order
+     * @return new reader
+     * @throws IOException if a file couldn't be opened
+     */
+    public static DataReader forSplitFiles(List<Path> paths) throws IOException {
+        return new DataReader(CompositeSource.forMappedFiles(paths));
+    }
+    
+    private static DataReader forMappedFile(Path path, Set<OpenOption> options) throws IOException {
+        options.add(READ);
+        MapMode mode = options.contains(WRITE) ? MapMode.READ_WRITE : MapMode.READ_ONLY;
+        FileChannel fc = FileChannel.open(path, options);
+        return new DataReader(new MappedFileSource(fc, mode));
     }
     
     private DataReaders() {
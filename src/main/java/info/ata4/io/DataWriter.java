@@ -9,17 +9,33 @@
  */
 package info.ata4.io;
 
+import info.ata4.io.buffer.ByteBufferUtils;
 import info.ata4.io.buffer.source.BufferedSource;
 import info.ata4.io.buffer.source.BufferedSourceChannel;
+import info.ata4.io.buffer.source.DeflaterSource;
+import info.ata4.io.buffer.source.GatheringSource;
+import info.ata4.io.buffer.source.SeekableByteChannelSource;
+import info.ata4.io.buffer.source.WritableByteChannelSource;
 import info.ata4.io.util.HalfFloat;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
 
 /**
  * 
@@ -27,6 +43,13 @@ import java.nio.charset.StandardCharsets;
  */
 public class DataWriter extends DataBridge implements DataOutput, StringOutput {
     
+    private static final byte[] ZEROS = new byte[4096];
+    
+    // reused for string encoding
+    private CharsetEncoder encoder;
+    private CharBuffer chars;
+    private ByteBuffer strBuf;
+    
     public DataWriter(BufferedSource buf) {
         super(buf);
     }
@@ -39,6 +62,90 @@ public class DataWriter extends DataBridge implements DataOutput, StringOutput {
         return Channels.newOutputStream(new BufferedSourceChannel(buf));
     }
     
+    /**
+     * Writes all pending bytes to the underlying data source.
+     * 
+     * @throws IOException if writing the pending data causes an error
+     */
+    public void flush() throws IOException {
+        buf.flush();
+    }
+    
+    /**
+     * Creates a new writer that writes a compressed zlib or raw deflate stream
+     * at the current position. The new writer uses the byte order of this
+     * writer. The stream is completed by closing the new writer, which doesn't
+     * close this writer.
+     * 
+     * @param level compression level from 0 to 9 or
+     *              {@link java.util.zip.Deflater#DEFAULT_COMPRESSION}
+     * @param nowrap if true, write a raw deflate stream without zlib header and
+     *               checksum
+     * @return new writer
+     */
+    public DataWriter deflate(int level, boolean nowrap) {
+        DeflaterSource dst = new DeflaterSource(buf, level, nowrap);
+        dst.order(buf.order());
+        return new DataWriter(dst);
+    }
+    
+    public DataWriter deflate() {
+        return deflate(Deflater.DEFAULT_COMPRESSION, false);
+    }
+    
+    /**
+     * Returns the channel of the source after writing the pending bytes, or
+     * null if the source isn't backed by a writable channel.
+     */
+    private WritableByteChannel channel() throws IOException {
+        if (buf instanceof WritableByteChannelSource) {
+            return ((WritableByteChannelSource) buf).channel();
+        }
+        if (buf instanceof SeekableByteChannelSource && buf.canWrite()) {
+            return ((SeekableByteChannelSource) buf).channel();
+        }
+        return null;
+    }
+    
+    /**
+     * Transfers bytes from the current position of a reader to the current
+     * position of this writer. If this writer is backed by a channel, the
+     * transfer is done with {@link DataReader#transferTo}, which uses
+     * {@link java.nio.channels.FileChannel#transferTo} if the reader is backed
+     * by a file channel. Otherwise, the bytes are read directly into the
+     * buffer of this writer.
+     * 
+     * @param in source reader
+     * @param count number of bytes to transfer
+     * @throws IOException if there was a reading or writing error
+     * @throws EOFException if there are less than {@code count} bytes
+     *         available
+     */
+    public void transferFrom(DataReader in, long count) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException();
+        }
+        
+        WritableByteChannel chan = channel();
+        if (chan != null) {
+            in.transferTo(chan, count);
+            return;
+        }
+        
+        while (count > 0) {
+            ByteBuffer bb = buf.requestWrite(1);
+            int len = (int) Math.min(bb.remaining(), count);
+            int limit = bb.limit();
+            bb.limit(bb.position() + len);
+            try {
+                in.readBuffer(bb);
+            } finally {
+                bb.limit(limit);
+            }
+            count -= len;
+        }
+    }
+    
     ////////////////
     // DataOutput //
     ////////////////
@@ -61,6 +168,30 @@ public class DataWriter extends DataBridge implements DataOutput, StringOutput {
         }
     }
     
+    /**
+     * Writes a sequence of buffers. If the source supports it, the pending
+     * bytes and all buffers are written with one gathering write on the
+     * underlying channel.
+     * 
+     * @param srcs source buffers
+     * @throws IOException 
+     */
+    @Override
+    public void writeBuffers(ByteBuffer... srcs) throws IOException {
+        if (!(buf instanceof GatheringSource)) {
+            for (ByteBuffer src : srcs) {
+                writeBuffer(src);
+            }
+            return;
+        }
+        
+        GatheringSource dst = (GatheringSource) buf;
+        while (ByteBufferUtils.remaining(srcs) > 0 && dst.write(srcs) > 0);
+        if (ByteBufferUtils.remaining(srcs) > 0) {
+            throw new EOFException();
+        }
+    }
+    
     @Override
     public void writeByte(byte b) throws IOException {
         buf.requestWrite(1).put(b);
@@ -121,19 +252,420 @@ public class DataWriter extends DataBridge implements DataOutput, StringOutput {
         writeLong(v.longValue());
     }
     
+    @Override
+    public void writeUnsignedLong(long v) throws IOException {
+        writeLong(v);
+    }
+    
     @Override
     public void writeHalf(float f) throws IOException {
         int sval = HalfFloat.floatToIntBits(f);
         writeUnsignedShort(sval);
     }
     
+    @Override
+    public void writeHalfs(float[] f) throws IOException {
+        writeHalfs(f, 0, f.length);
+    }
+    
+    @Override
+    public void writeHalfs(float[] f, int off, int len) throws IOException {
+        checkBounds(f.length, off, len);
+        while (len > 0) {
+            ByteBuffer bb = buf.requestWrite(2);
+            int n = Math.min(len, bb.remaining() / 2);
+            for (int i = 0; i < n; i++) {
+                bb.putShort((short) HalfFloat.floatToIntBits(f[off + i]));
+            }
+            off += n;
+            len -= n;
+        }
+    }
+    
+    @Override
+    public void writeShorts(short[] s) throws IOException {
+        writeShorts(s, 0, s.length);
+    }
+    
+    @Override
+    public void writeShorts(short[] s, int off, int len) throws IOException {
+        checkBounds(s.length, off, len);
+        while (len > 0) {
+            // fill the remaining space of the buffer, the source will flush
+            // only once it's full
+            ByteBuffer bb = buf.requestWrite(2);
+            int n = Math.min(len, bb.remaining() / 2);
+            bb.asShortBuffer().put(s, off, n);
+            bb.position(bb.position() + n * 2);
+            off += n;
+            len -= n;
+        }
+    }
+    
+    @Override
+    public void writeShorts(ShortBuffer s) throws IOException {
+        while (s.hasRemaining()) {
+            ByteBuffer bb = buf.requestWrite(2);
+            int n = Math.min(s.remaining(), bb.remaining() / 2);
+            int limit = s.limit();
+            s.limit(s.position() + n);
+            bb.asShortBuffer().put(s);
+            s.limit(limit);
+            bb.position(bb.position() + n * 2);
+        }
+    }
+    
+    @Override
+    public void writeInts(int[] i) throws IOException {
+        writeInts(i, 0, i.length);
+    }
+    
+    @Override
+    public void writeInts(int[] i, int off, int len) throws IOException {
+        checkBounds(i.length, off, len);
+        while (len > 0) {
+            ByteBuffer bb = buf.requestWrite(4);
+            int n = Math.min(len, bb.remaining() / 4);
+            bb.asIntBuffer().put(i, off, n);
+            bb.position(bb.position() + n * 4);
+            off += n;
+            len -= n;
+        }
+    }
+    
+    @Override
+    public void writeInts(IntBuffer i) throws IOException {
+        while (i.hasRemaining()) {
+            ByteBuffer bb = buf.requestWrite(4);
+            int n = Math.min(i.remaining(), bb.remaining() / 4);
+            int limit = i.limit();
+            i.limit(i.position() + n);
+            bb.asIntBuffer().put(i);
+            i.limit(limit);
+            bb.position(bb.position() + n * 4);
+        }
+    }
+    
+    @Override
+    public void writeLongs(long[] l) throws IOException {
+        writeLongs(l, 0, l.length);
+    }
+    
+    @Override
+    public void writeLongs(long[] l, int off, int len) throws IOException {
+        checkBounds(l.length, off, len);
+        while (len > 0) {
+            ByteBuffer bb = buf.requestWrite(8);
+            int n = Math.min(len, bb.remaining() / 8);
+            bb.asLongBuffer().put(l, off, n);
+            bb.position(bb.position() + n * 8);
+            off += n;
+            len -= n;
+        }
+    }
+    
+    @Override
+    public void writeUnsignedLongs(long[] l) throws IOException {
+        writeLongs(l);
+    }
+    
+    @Override
+    public void writeUnsignedLongs(long[] l, int off, int len) throws IOException {
+        writeLongs(l, off, len);
+    }
+    
+    @Override
+    public void writeLongs(LongBuffer l) throws IOException {
+        while (l.hasRemaining()) {
+            ByteBuffer bb = buf.requestWrite(8);
+            int n = Math.min(l.remaining(), bb.remaining() / 8);
+            int limit = l.limit();
+            l.limit(l.position() + n);
+            bb.asLongBuffer().put(l);
+            l.limit(limit);
+            bb.position(bb.position() + n * 8);
+        }
+    }
+    
+    @Override
+    public void writeFloats(float[] f) throws IOException {
+        writeFloats(f, 0, f.length);
+    }
+    
+    @Override
+    public void writeFloats(float[] f, int off, int len) throws IOException {
+        checkBounds(f.length, off, len);
+        while (len > 0) {
+            ByteBuffer bb = buf.requestWrite(4);
+            int n = Math.min(len, bb.remaining() / 4);
+            bb.asFloatBuffer().put(f, off, n);
+            bb.position(bb.position() + n * 4);
+            off += n;
+            len -= n;
+        }
+    }
+    
+    @Override
+    public void writeFloats(FloatBuffer f) throws IOException {
+        while (f.hasRemaining()) {
+            ByteBuffer bb = buf.requestWrite(4);
+            int n = Math.min(f.remaining(), bb.remaining() / 4);
+            int limit = f.limit();
+            f.limit(f.position() + n);
+            bb.asFloatBuffer().put(f);
+            f.limit(limit);
+            bb.position(bb.position() + n * 4);
+        }
+    }
+    
+    @Override
+    public void writeDoubles(double[] d) throws IOException {
+        writeDoubles(d, 0, d.length);
+    }
+    
+    @Override
+    public void writeDoubles(double[] d, int off, int len) throws IOException {
+        checkBounds(d.length, off, len);
+        while (len > 0) {
+            ByteBuffer bb = buf.requestWrite(8);
+            int n = Math.min(len, bb.remaining() / 8);
+            bb.asDoubleBuffer().put(d, off, n);
+            bb.position(bb.position() + n * 8);
+            off += n;
+            len -= n;
+        }
+    }
+    
+    @Override
+    public void writeDoubles(DoubleBuffer d) throws IOException {
+        while (d.hasRemaining()) {
+            ByteBuffer bb = buf.requestWrite(8);
+            int n = Math.min(d.remaining(), bb.remaining() / 8);
+            int limit = d.limit();
+            d.limit(d.position() + n);
+            bb.asDoubleBuffer().put(d);
+            d.limit(limit);
+            bb.position(bb.position() + n * 8);
+        }
+    }
+    
+    private static int varIntSize(int v) {
+        return (31 - Integer.numberOfLeadingZeros(v | 1)) / 7 + 1;
+    }
+    
+    private static int varLongSize(long v) {
+        return (63 - Long.numberOfLeadingZeros(v | 1)) / 7 + 1;
+    }
+    
+    @Override
+    public void writeVarInt(int v) throws IOException {
+        ByteBuffer bb = buf.requestWrite(varIntSize(v));
+        while ((v & ~0x7f) != 0) {
+            bb.put((byte) (v | 0x80));
+            v >>>= 7;
+        }
+        bb.put((byte) v);
+    }
+    
+    @Override
+    public void writeVarLong(long v) throws IOException {
+        ByteBuffer bb = buf.requestWrite(varLongSize(v));
+        while ((v & ~0x7fL) != 0) {
+            bb.put((byte) (v | 0x80));
+            v >>>= 7;
+        }
+        bb.put((byte) v);
+    }
+    
+    @Override
+    public void writeZigZagInt(int v) throws IOException {
+        writeVarInt((v << 1) ^ (v >> 31));
+    }
+    
+    @Override
+    public void writeZigZagLong(long v) throws IOException {
+        writeVarLong((v << 1) ^ (v >> 63));
+    }
+    
+    @Override
+    public void writeVarInts(int[] i) throws IOException {
+        writeVarInts(i, 0, i.length);
+    }
+    
+    @Override
+    public void writeVarInts(int[] i, int off, int len) throws IOException {
+        checkBounds(i.length, off, len);
+        for (int j = off; j < off + len; j++) {
+            writeVarInt(i[j]);
+        }
+    }
+    
+    @Override
+    public void writeVarLongs(long[] l) throws IOException {
+        writeVarLongs(l, 0, l.length);
+    }
+    
+    @Override
+    public void writeVarLongs(long[] l, int off, int len) throws IOException {
+        checkBounds(l.length, off, len);
+        for (int j = off; j < off + len; j++) {
+            writeVarLong(l[j]);
+        }
+    }
+    
     //////////////////
     // StringOutput //
     //////////////////
     
+    /**
+     * Writes the characters of a string with one byte per character. Characters
+     * that can't be represented are replaced with '?', like
+     * {@link String#getBytes(Charset)} does.
+     */
+    private int encodeSingleByte(String str, int maxChar) throws IOException {
+        int len = str.length();
+        int written = 0;
+        int i = 0;
+        while (i < len) {
+            ByteBuffer bb = buf.requestWrite(1);
+            int end = Math.min(len, i + bb.remaining());
+            for (; i < end; i++) {
+                char c = str.charAt(i);
+                if (c <= maxChar) {
+                    bb.put((byte) c);
+                } else {
+                    bb.put((byte) '?');
+                    // surrogate pairs are replaced as one character
+                    if (Character.isHighSurrogate(c) && i + 1 < len
+                            && Character.isLowSurrogate(str.charAt(i + 1))) {
+                        i++;
+                        end = Math.min(len, end + 1);
+                    }
+                }
+                written++;
+            }
+        }
+        return written;
+    }
+    
+    /**
+     * Returns the number of bytes written by {@link #encodeSingleByte}.
+     */
+    private static int lengthSingleByte(String str) {
+        int len = str.length();
+        int n = len;
+        for (int i = 0; i < len - 1; i++) {
+            if (Character.isHighSurrogate(str.charAt(i))
+                    && Character.isLowSurrogate(str.charAt(i + 1))) {
+                n--;
+                i++;
+            }
+        }
+        return n;
+    }
+    
+    private CharsetEncoder encoder(Charset charset) {
+        if (encoder == null || !encoder.charset().equals(charset)) {
+            // same replacement behavior as String.getBytes(Charset)
+            encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        encoder.reset();
+        return encoder;
+    }
+    
+    private CharBuffer chars(String str) {
+        int len = str.length();
+        if (chars == null || chars.capacity() < len) {
+            chars = CharBuffer.allocate(Math.max(len, 128) * 2);
+        }
+        chars.clear();
+        str.getChars(0, len, chars.array(), 0);
+        chars.limit(len);
+        return chars;
+    }
+    
+    /**
+     * Encodes a string directly into the buffer of the source.
+     * 
+     * @return number of bytes written
+     */
+    private int encode(String str, Charset charset) throws IOException {
+        if (charset.equals(StandardCharsets.US_ASCII)) {
+            return encodeSingleByte(str, 0x7f);
+        }
+        if (charset.equals(StandardCharsets.ISO_8859_1)) {
+            return encodeSingleByte(str, 0xff);
+        }
+        
+        CharsetEncoder enc = encoder(charset);
+        CharBuffer cb = chars(str);
+        
+        int written = 0;
+        boolean flushed = false;
+        ByteBuffer bb = buf.requestWrite(1);
+        
+        while (true) {
+            int pos = bb.position();
+            CoderResult result = flushed ? enc.flush(bb) : enc.encode(cb, bb, true);
+            written += bb.position() - pos;
+            
+            if (result.isUnderflow()) {
+                if (flushed) {
+                    break;
+                }
+                flushed = true;
+            } else if (result.isOverflow()) {
+                // not enough space left for the next character, so request
+                // more than what's currently left to get a fresh buffer
+                bb = buf.requestWrite(Math.min(bb.remaining() + 1, buf.bufferSize()));
+            } else {
+                result.throwException();
+            }
+        }
+        
+        return written;
+    }
+    
+    /**
+     * Encodes a string into the reusable string buffer.
+     */
+    private ByteBuffer encodeBuffered(String str, Charset charset) throws IOException {
+        CharsetEncoder enc = encoder(charset);
+        CharBuffer cb = chars(str);
+        
+        int size = (int) Math.ceil(cb.remaining() * (double) enc.maxBytesPerChar()) + 1;
+        if (strBuf == null || strBuf.capacity() < size) {
+            strBuf = ByteBuffer.allocate(Math.max(size, 256));
+        }
+        
+        strBuf.clear();
+        enc.encode(cb, strBuf, true);
+        enc.flush(strBuf);
+        strBuf.flip();
+        
+        return strBuf;
+    }
+    
+    /**
+     * Writes a number of null bytes.
+     * 
+     * @param n number of null bytes
+     * @throws IOException 
+     */
+    public void writeZeros(long n) throws IOException {
+        while (n > 0) {
+            ByteBuffer bb = buf.requestWrite(1);
+            int len = (int) Math.min(n, Math.min(bb.remaining(), ZEROS.length));
+            bb.put(ZEROS, 0, len);
+            n -= len;
+        }
+    }
+    
     @Override
     public void writeStringNull(String str, Charset charset) throws IOException {
-        writeStringFixed(str, charset);
+        encode(str, charset);
         writeUnsignedByte(0);
     }
     
@@ -144,11 +676,9 @@ public class DataWriter extends DataBridge implements DataOutput, StringOutput {
     
     @Override
     public void writeStringFixed(String str, int length, Charset charset) throws IOException {
-        byte[] raw = str.getBytes(charset);
-        writeBytes(raw);
-        int padding = length - raw.length;
-        for (int i = 0; i < padding; i++) {
-            writeUnsignedByte(0);
+        int padding = length - encode(str, charset);
+        if (padding > 0) {
+            writeZeros(padding);
         }
     }
     
@@ -159,7 +689,7 @@ public class DataWriter extends DataBridge implements DataOutput, StringOutput {
 
     @Override
     public void writeStringFixed(String str, Charset charset) throws IOException {
-        writeBytes(str.getBytes(charset));
+        encode(str, charset);
     }
     
     @Override
@@ -169,7 +699,19 @@ public class DataWriter extends DataBridge implements DataOutput, StringOutput {
     
     @Override
     public void writeStringPrefixed(String str, Class<? extends Number> prefixType, Charset charset) throws IOException {
-        int len = str.length();
+        // the byte length is only known in advance for single byte charsets
+        boolean singleByte = charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1);
+        
+        ByteBuffer raw = null;
+        int len;
+        if (singleByte) {
+            len = lengthSingleByte(str);
+        } else {
+            raw = encodeBuffered(str, charset);
+            len = raw.remaining();
+        }
+        
         if (prefixType == Byte.TYPE) {
             writeUnsignedByte(len);
         } else if (prefixType == Short.TYPE) {
@@ -180,7 +722,11 @@ public class DataWriter extends DataBridge implements DataOutput, StringOutput {
             throw new IllegalArgumentException("Wrong prefix data type");
         }
         
-        writeStringFixed(str, charset);
+        if (singleByte) {
+            encode(str, charset);
+        } else {
+            writeBytes(raw.array(), 0, len);
+        }
     }
     
     @Override
@@ -195,12 +741,7 @@ public class DataWriter extends DataBridge implements DataOutput, StringOutput {
         long pos = position();
         long rem = pos % align;
         if (rem != 0) {
-            int pad = (int) (align - rem);
-            while (pad > 0) {
-                int padWrite = Math.min(4096, pad);
-                writeBytes(new byte[padWrite]);
-                pad -= padWrite;
-            }
+            writeZeros(align - rem);
         }
     }
 }
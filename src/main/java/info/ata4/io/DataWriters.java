@@ -9,19 +9,30 @@
  */
 package info.ata4.io;
 
+import info.ata4.io.buffer.ByteBufferPool;
+import info.ata4.io.buffer.ByteBufferPools;
 import info.ata4.io.buffer.source.BufferedSource;
 import info.ata4.io.buffer.source.ByteBufferSource;
+import info.ata4.io.buffer.source.ChunkedMemorySource;
+import info.ata4.io.buffer.source.MappedFileSource;
 import info.ata4.io.buffer.source.SeekableByteChannelSource;
 import info.ata4.io.buffer.source.WritableByteChannelSource;
+import info.ata4.io.buffer.source.WriteBehindByteChannelSource;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.*;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  *
@@ -33,15 +44,44 @@ public class DataWriters {
         return new DataWriter(new ByteBufferSource(bb));
     }
     
+    /**
+     * Creates a writer for a growable in-memory buffer. The written data can be
+     * retrieved from the {@link ChunkedMemorySource} returned by
+     * {@link DataWriter#source()}.
+     * 
+     * @return new writer
+     */
+    public static DataWriter forMemory() {
+        return new DataWriter(new ChunkedMemorySource());
+    }
+    
     public static DataWriter forWritableByteChannel(WritableByteChannel chan) throws IOException {
-        ByteBuffer bb = ByteBuffer.allocateDirect(1 << 18);
-        BufferedSource buf = new WritableByteChannelSource(bb, chan); 
+        return forWritableByteChannel(chan, false);
+    }
+    
+    /**
+     * Creates a writer for a writable channel.
+     * 
+     * @param chan destination channel
+     * @param writeBehind if true, full buffers are written to the channel by a
+     *                    background thread
+     * @return new writer
+     * @throws IOException 
+     */
+    public static DataWriter forWritableByteChannel(WritableByteChannel chan, boolean writeBehind) throws IOException {
+        BufferedSource buf;
+        if (writeBehind) {
+            buf = new WriteBehindByteChannelSource(ByteBuffer.allocateDirect(1 << 18), chan);
+        } else {
+            ByteBufferPool pool = ByteBufferPools.getDefault();
+            buf = new WritableByteChannelSource(pool.acquire(1 << 18), chan, pool);
+        }
         return new DataWriter(buf);
     }
     
     public static DataWriter forSeekableByteChannel(SeekableByteChannel chan) throws IOException {
-        ByteBuffer bb = ByteBuffer.allocateDirect(1 << 16);
-        BufferedSource buf = new SeekableByteChannelSource(bb, chan); 
+        ByteBufferPool pool = ByteBufferPools.getDefault();
+        BufferedSource buf = new SeekableByteChannelSource(pool.acquire(1 << 16), chan, pool);
         return new DataWriter(buf);
     }
     
@@ -50,7 +90,22 @@ public class DataWriters {
     }
     
     public static DataWriter forFile(Path path, OpenOption... options) throws IOException {
-        return forSeekableByteChannel(Files.newByteChannel(path, options));
+        Set<OpenOption> optionSet = new HashSet<>(Arrays.asList(options));
+        if (optionSet.remove(DataOpenOption.MEMORY_MAPPED)) {
+            return forMappedFile(path, optionSet);
+        }
+        if (optionSet.remove(DataOpenOption.WRITE_BEHIND)) {
+            return forWritableByteChannel(Files.newByteChannel(path, optionSet), true);
+        }
+        return forSeekableByteChannel(Files.newByteChannel(path, optionSet));
+    }
+    
+    private static DataWriter forMappedFile(Path path, Set<OpenOption> options) throws IOException {
+        // read access is required for writable mappings
+        options.add(READ);
+        options.add(WRITE);
+        FileChannel fc = FileChannel.open(path, options);
+        return new DataWriter(new MappedFileSource(fc, MapMode.READ_WRITE));
     }
     
     private DataWriters() {
@@ -0,0 +1,26 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io;
+
+/**
+ * Factory for new, empty struct instances.
+ * 
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ * @param <T> struct type
+ */
+public interface StructFactory<T extends Struct> {
+    
+    /**
+     * Creates a new struct instance.
+     * 
+     * @return new struct
+     */
+    public T create();
+}
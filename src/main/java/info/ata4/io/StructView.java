@@ -0,0 +1,160 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io;
+
+import info.ata4.io.buffer.source.BufferedSource;
+import info.ata4.io.util.HalfFloat;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Reusable view for a fixed-size record in a byte buffer.
+ *
+ * Unlike {@link Struct}, a view doesn't copy the fields of the record into
+ * Java objects. Subclasses define getters that read single fields at a fixed
+ * offset directly from the buffer, using the byte order of the buffer. The same
+ * view instance can be bound to different records, so iterating a table of
+ * records doesn't allocate any objects.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public abstract class StructView {
+
+    private ByteBuffer bb;
+    private int offset;
+
+    /**
+     * Returns the size of the record in bytes.
+     *
+     * @return record size
+     */
+    public abstract int sizeof();
+
+    /**
+     * Binds this view to the record at the given offset of a buffer. The
+     * position and limit of the buffer are not used or changed.
+     *
+     * @param bb buffer
+     * @param offset absolute offset of the record in the buffer
+     * @return this view
+     * @throws IndexOutOfBoundsException if the record exceeds the buffer limit
+     */
+    public StructView bind(ByteBuffer bb, int offset) {
+        if (offset < 0 || offset > bb.limit() - sizeof()) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        this.bb = bb;
+        this.offset = offset;
+
+        return this;
+    }
+
+    /**
+     * Binds this view to the record at the given position of a source. The
+     * source is positioned at the record and the buffer returned by
+     * {@link BufferedSource#requestRead} is used directly, which is the source
+     * buffer itself for {@link info.ata4.io.buffer.source.ByteBufferSource}
+     * and the mapped segment for
+     * {@link info.ata4.io.buffer.source.MappedFileSource}. The view becomes
+     * invalid on the next operation on the source.
+     *
+     * @param source source
+     * @param pos position of the record in the source
+     * @return this view
+     * @throws IOException if the record couldn't be read
+     */
+    public StructView bind(BufferedSource source, long pos) throws IOException {
+        source.position(pos);
+        ByteBuffer buf = source.requestRead(sizeof());
+        return bind(buf, buf.position());
+    }
+
+    /**
+     * Returns the buffer this view is bound to.
+     *
+     * @return buffer or null if the view isn't bound
+     */
+    public ByteBuffer buffer() {
+        return bb;
+    }
+
+    /**
+     * Returns the absolute offset of the record in the buffer this view is
+     * bound to.
+     *
+     * @return record offset
+     */
+    public int offset() {
+        return offset;
+    }
+
+    public ByteOrder order() {
+        return bb.order();
+    }
+
+    ///////////////
+    // Accessors //
+    ///////////////
+
+    protected byte getByte(int field) {
+        return bb.get(offset + field);
+    }
+
+    protected int getUnsignedByte(int field) {
+        return getByte(field) & 0xff;
+    }
+
+    protected boolean getBoolean(int field) {
+        return getByte(field) != 0;
+    }
+
+    protected short getShort(int field) {
+        return bb.getShort(offset + field);
+    }
+
+    protected int getUnsignedShort(int field) {
+        return getShort(field) & 0xffff;
+    }
+
+    protected int getInt(int field) {
+        return bb.getInt(offset + field);
+    }
+
+    protected long getUnsignedInt(int field) {
+        return getInt(field) & 0xffffffffL;
+    }
+
+    protected long getLong(int field) {
+        return bb.getLong(offset + field);
+    }
+
+    protected float getHalf(int field) {
+        return HalfFloat.intBitsToFloat(getUnsignedShort(field));
+    }
+
+    protected float getFloat(int field) {
+        return bb.getFloat(offset + field);
+    }
+
+    protected double getDouble(int field) {
+        return bb.getDouble(offset + field);
+    }
+
+    protected void getBytes(int field, byte[] dst, int off, int len) {
+        if (off < 0 || len < 0 || off > dst.length - len) {
+            throw new IndexOutOfBoundsException();
+        }
+        for (int i = 0; i < len; i++) {
+            dst[off + i] = bb.get(offset + field + i);
+        }
+    }
+}
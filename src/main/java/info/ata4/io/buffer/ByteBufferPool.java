@@ -0,0 +1,37 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Pool for reusable byte buffers. Implementations must be thread-safe.
+ * 
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public interface ByteBufferPool {
+    
+    /**
+     * Returns a cleared buffer in big endian byte order with a capacity of at
+     * least {@code size} bytes.
+     * 
+     * @param size minimum buffer capacity
+     * @return byte buffer
+     */
+    public ByteBuffer acquire(int size);
+    
+    /**
+     * Returns a buffer to the pool. The buffer must not be used by the caller
+     * afterwards.
+     * 
+     * @param bb byte buffer previously returned by {@link #acquire}
+     */
+    public void release(ByteBuffer bb);
+}
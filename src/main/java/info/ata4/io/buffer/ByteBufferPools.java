@@ -0,0 +1,36 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer;
+
+/**
+ * Holder for the buffer pool that is used by the factories in
+ * {@link info.ata4.io.DataReaders} and {@link info.ata4.io.DataWriters} and by
+ * the buffered channels.
+ * 
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class ByteBufferPools {
+    
+    private static volatile ByteBufferPool defaultPool = new DirectByteBufferPool();
+    
+    public static ByteBufferPool getDefault() {
+        return defaultPool;
+    }
+    
+    public static void setDefault(ByteBufferPool pool) {
+        if (pool == null) {
+            throw new NullPointerException();
+        }
+        defaultPool = pool;
+    }
+    
+    private ByteBufferPools() {
+    }
+}
@@ -136,6 +136,9 @@ public class ByteBufferUtils {
      * Reads a list of files and puts their contents into a byte buffer. The
      * combined size of all files must not exceed {@link java.lang.Integer#MAX_VALUE}.
      * 
+     * Use {@link info.ata4.io.buffer.source.CompositeSource} to read the files
+     * without copying them.
+     * 
      * @param paths
      * @return
      * @throws IOException 
@@ -382,6 +385,20 @@ public class ByteBufferUtils {
         return numBytes;
     }
     
+    /**
+     * Returns the total number of remaining bytes in a sequence of buffers.
+     * 
+     * @param bbs byte buffers
+     * @return sum of all remaining bytes
+     */
+    public static long remaining(ByteBuffer... bbs) {
+        long total = 0;
+        for (ByteBuffer bb : bbs) {
+            total += bb.remaining();
+        }
+        return total;
+    }
+    
     public static boolean isEmpty(ByteBuffer bb) {
         return bb == null || bb.capacity() == 0;
     }
@@ -0,0 +1,132 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool for direct byte buffers with power-of-two size classes.
+ * 
+ * Each size class has its own lock-free free list. The total capacity of all
+ * buffers that are kept in the pool is limited; buffers that are released when
+ * the limit has been reached are left to the garbage collector. Requests larger
+ * than the largest size class are allocated without pooling.
+ * 
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class DirectByteBufferPool implements ByteBufferPool {
+    
+    public static final int DEFAULT_MIN_SIZE = 1 << 12; // 4 KiB
+    public static final int DEFAULT_MAX_SIZE = 1 << 24; // 16 MiB
+    public static final long DEFAULT_MAX_POOLED = 1 << 26; // 64 MiB
+    
+    private final int minShift;
+    private final int maxShift;
+    private final long maxPooled;
+    private final List<Queue<ByteBuffer>> free;
+    private final AtomicLong pooled = new AtomicLong();
+    
+    public DirectByteBufferPool(int minSize, int maxSize, long maxPooled) {
+        if (minSize <= 0 || maxSize < minSize || Integer.bitCount(minSize) != 1
+                || Integer.bitCount(maxSize) != 1 || maxPooled < 0) {
+            throw new IllegalArgumentException();
+        }
+        
+        this.minShift = Integer.numberOfTrailingZeros(minSize);
+        this.maxShift = Integer.numberOfTrailingZeros(maxSize);
+        this.maxPooled = maxPooled;
+        
+        int classes = maxShift - minShift + 1;
+        free = new ArrayList<>(classes);
+        for (int i = 0; i < classes; i++) {
+            free.add(new ConcurrentLinkedQueue<ByteBuffer>());
+        }
+    }
+    
+    public DirectByteBufferPool(long maxPooled) {
+        this(DEFAULT_MIN_SIZE, DEFAULT_MAX_SIZE, maxPooled);
+    }
+    
+    public DirectByteBufferPool() {
+        this(DEFAULT_MAX_POOLED);
+    }
+    
+    private int sizeClass(int size) {
+        int shift = size <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1);
+        return Math.max(shift, minShift) - minShift;
+    }
+    
+    @Override
+    public ByteBuffer acquire(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException();
+        }
+        
+        int index = sizeClass(size);
+        if (index >= free.size()) {
+            // too large for pooling
+            return ByteBuffer.allocateDirect(size);
+        }
+        
+        ByteBuffer bb = free.get(index).poll();
+        if (bb == null) {
+            return ByteBuffer.allocateDirect(1 << (index + minShift));
+        }
+        
+        pooled.addAndGet(-bb.capacity());
+        
+        bb.clear();
+        bb.order(ByteOrder.BIG_ENDIAN);
+        
+        return bb;
+    }
+    
+    @Override
+    public void release(ByteBuffer bb) {
+        int capacity = bb.capacity();
+        
+        // only accept buffers that fit exactly into a size class
+        if (!bb.isDirect() || bb.isReadOnly() || Integer.bitCount(capacity) != 1) {
+            return;
+        }
+        
+        int index = sizeClass(capacity);
+        if (index >= free.size() || capacity != 1 << (index + minShift)) {
+            return;
+        }
+        
+        // reserve space in the pool, drop the buffer if the limit is reached
+        long total;
+        do {
+            total = pooled.get();
+            if (total + capacity > maxPooled) {
+                return;
+            }
+        } while (!pooled.compareAndSet(total, total + capacity));
+        
+        free.get(index).offer(bb);
+    }
+    
+    /**
+     * Returns the total capacity of all buffers that are currently kept in the
+     * pool.
+     * 
+     * @return pooled bytes
+     */
+    public long pooledBytes() {
+        return pooled.get();
+    }
+}
@@ -19,7 +19,7 @@ import java.nio.ByteOrder;
  *
  * @author Nico Bergemann <barracuda415 at yahoo.de>
  */
-public class ByteBufferSource implements BufferedSource {
+public class ByteBufferSource implements ForkableSource, SliceableSource {
     
     private final ByteBuffer buf;
     private final ByteBufferChannel chanBuf;
@@ -29,6 +29,28 @@ public class ByteBufferSource implements BufferedSource {
         chanBuf = new ByteBufferChannel(buffer);
     }
     
+    @Override
+    public ByteBufferSource fork() {
+        ByteBuffer bb = buf.duplicate();
+        bb.order(buf.order());
+        return new ByteBufferSource(bb);
+    }
+    
+    @Override
+    public ByteBufferSource slice(long offset, long length) {
+        if (offset < 0 || length < 0 || offset > buf.limit() - length) {
+            throw new IllegalArgumentException();
+        }
+        
+        ByteBuffer bb = buf.asReadOnlyBuffer();
+        bb.limit((int) (offset + length));
+        bb.position((int) offset);
+        bb = bb.slice();
+        bb.order(buf.order());
+        
+        return new ByteBufferSource(bb);
+    }
+    
     @Override
     public void position(long newPos) throws IOException {
         if (newPos < 0 || newPos > buf.limit()) {
@@ -0,0 +1,437 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer.source;
+
+import info.ata4.io.buffer.ByteBufferUtils;
+import info.ata4.io.channel.ChannelUtils;
+import info.ata4.log.LogUtils;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Seekable channel source that keeps a number of fixed-size pages in a LRU
+ * cache.
+ *
+ * Pages are aligned to multiples of the page size, so jumping back and forth
+ * between a few regions of the channel won't read the same bytes again as long
+ * as they fit into the cache. Modified pages are written back when they are
+ * evicted, flushed or when the source is closed. Requests that cross a page
+ * boundary are served from a separate scratch buffer.
+ *
+ * The channel must be readable and must not be accessed by anything else while
+ * this source is open.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class CachedSeekableByteChannelSource implements BufferedSource {
+
+    private static final Logger L = LogUtils.getLogger();
+
+    public static final int DEFAULT_PAGE_SIZE = 1 << 16; // 64 KiB
+    public static final int DEFAULT_MAX_PAGES = 64;
+
+    private static class Page {
+
+        private final ByteBuffer data;
+        private long index;
+        private int length;
+        private boolean dirty;
+
+        private Page(ByteBuffer data) {
+            this.data = data;
+        }
+    }
+
+    private final SeekableByteChannel chan;
+    private final int pageSize;
+    private final int maxPages;
+    private final Map<Long, Page> pages;
+
+    private long size;
+    private long hits;
+    private long misses;
+
+    private ByteBuffer cur = ByteBufferUtils.EMPTY;
+    private Page curPage;
+    private long curBase;
+    private boolean write;
+
+    private ByteBuffer scratch;
+
+    private ByteOrder order = ByteOrder.BIG_ENDIAN;
+
+    public CachedSeekableByteChannelSource(SeekableByteChannel chan, int pageSize, int maxPages) throws IOException {
+        if (pageSize <= 0 || maxPages <= 0) {
+            throw new IllegalArgumentException();
+        }
+
+        if (!ChannelUtils.isReadable(chan)) {
+            throw new IllegalArgumentException("Channel is not readable");
+        }
+
+        this.chan = chan;
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+
+        // iteration order from least to most recently used
+        pages = new LinkedHashMap<>(maxPages * 2, 0.75f, true);
+        size = chan.size();
+    }
+
+    public CachedSeekableByteChannelSource(SeekableByteChannel chan) throws IOException {
+        this(chan, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES);
+    }
+
+    /**
+     * Returns the number of page lookups that were served from the cache.
+     *
+     * @return cache hits
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of page lookups that required reading from the
+     * channel.
+     *
+     * @return cache misses
+     */
+    public long misses() {
+        return misses;
+    }
+
+    private Page page(long index) throws IOException {
+        Page page = pages.get(index);
+        if (page != null) {
+            hits++;
+            return page;
+        }
+
+        misses++;
+
+        // reuse the buffer of the least recently used page if the cache is full
+        if (pages.size() >= maxPages) {
+            Iterator<Page> it = pages.values().iterator();
+            page = it.next();
+            it.remove();
+
+            if (page.dirty) {
+                writeBack(page);
+            }
+        } else {
+            page = new Page(ByteBuffer.allocateDirect(pageSize));
+        }
+
+        page.index = index;
+        load(page);
+        pages.put(index, page);
+
+        return page;
+    }
+
+    private void load(Page page) throws IOException {
+        ByteBuffer bb = page.data;
+        bb.clear();
+
+        long base = page.index * pageSize;
+        if (base < chan.size()) {
+            chan.position(base);
+            while (bb.hasRemaining() && chan.read(bb) > 0);
+        }
+
+        page.length = bb.position();
+        page.dirty = false;
+
+        L.log(Level.FINEST, "load: {0} bytes read at {1}",
+                new Object[] {page.length, base});
+
+        // bytes beyond the end of the channel are zero
+        while (bb.hasRemaining()) {
+            bb.put((byte) 0);
+        }
+    }
+
+    private void writeBack(Page page) throws IOException {
+        ByteBuffer bb = page.data.duplicate();
+        bb.position(0);
+        bb.limit(page.length);
+
+        long base = page.index * pageSize;
+
+        L.log(Level.FINEST, "writeBack: {0} bytes at {1}",
+                new Object[] {page.length, base});
+
+        chan.position(base);
+        while (bb.hasRemaining() && chan.write(bb) > 0);
+
+        if (bb.hasRemaining()) {
+            throw new IOException("Channel didn't accept all bytes");
+        }
+
+        page.dirty = false;
+    }
+
+    private void transfer(long pos, ByteBuffer bb, boolean write) throws IOException {
+        while (bb.hasRemaining()) {
+            Page page = page(pos / pageSize);
+            int offset = (int) (pos % pageSize);
+            int n = Math.min(pageSize - offset, bb.remaining());
+
+            ByteBuffer data = page.data.duplicate();
+            data.limit(offset + n);
+            data.position(offset);
+
+            if (write) {
+                ByteBufferUtils.transfer(bb, data);
+                page.length = Math.max(page.length, offset + n);
+                page.dirty = true;
+            } else {
+                ByteBufferUtils.transfer(data, bb);
+            }
+
+            pos += n;
+        }
+    }
+
+    private void sync() throws IOException {
+        if (!write) {
+            return;
+        }
+
+        long pos = position();
+
+        if (cur == scratch) {
+            // copy written bytes back to the pages
+            ByteBuffer bb = scratch.duplicate();
+            bb.flip();
+            transfer(curBase, bb, true);
+        } else if (curPage != null) {
+            curPage.length = Math.max(curPage.length, cur.position());
+        }
+
+        size = Math.max(size, pos);
+    }
+
+    private void detach() throws IOException {
+        long pos = position();
+        cur = ByteBufferUtils.EMPTY;
+        curPage = null;
+        curBase = pos;
+    }
+
+    private ByteBuffer request(int required, boolean write) throws IOException {
+        sync();
+
+        long pos = position();
+        long end = pos + required;
+
+        if (write) {
+            if (!canWrite()) {
+                throw new NonWritableSourceException();
+            }
+        } else if (end > size) {
+            throw new EOFException();
+        }
+
+        detach();
+
+        this.write = write;
+
+        long index = pos / pageSize;
+        int offset = (int) (pos % pageSize);
+
+        if (offset + required <= pageSize) {
+            curPage = page(index);
+            curPage.dirty |= write;
+
+            cur = curPage.data;
+            curBase = index * pageSize;
+
+            // don't expose bytes beyond the end of the channel when reading
+            if (write) {
+                cur.limit(pageSize);
+            } else {
+                cur.limit((int) Math.min(pageSize, size - curBase));
+            }
+
+            cur.position(offset);
+        } else {
+            L.log(Level.FINEST, "request: {0} bytes at {1} cross a page boundary",
+                    new Object[] {required, pos});
+
+            if (scratch == null || scratch.capacity() < required) {
+                scratch = ByteBuffer.allocateDirect(required);
+            }
+
+            scratch.clear();
+            scratch.limit(required);
+
+            // existing bytes are also required for writing, since only the
+            // written part is copied back
+            transfer(pos, scratch, false);
+            scratch.flip();
+
+            cur = scratch;
+            curBase = pos;
+        }
+
+        cur.order(order);
+
+        return cur;
+    }
+
+    @Override
+    public void position(long newPos) throws IOException {
+        if (newPos < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        sync();
+
+        // seeking alone doesn't extend the channel, only the next write does,
+        // so the write buffer is dropped as it may extend beyond the end
+        if (!write && cur != scratch && newPos >= curBase && newPos <= curBase + cur.limit()) {
+            cur.position((int) (newPos - curBase));
+        } else {
+            cur = ByteBufferUtils.EMPTY;
+            curPage = null;
+            curBase = newPos;
+            write = false;
+        }
+    }
+
+    @Override
+    public long position() throws IOException {
+        return curBase + cur.position();
+    }
+
+    @Override
+    public long size() throws IOException {
+        sync();
+        return size;
+    }
+
+    @Override
+    public ByteOrder order() {
+        return order;
+    }
+
+    @Override
+    public void order(ByteOrder order) {
+        this.order = order;
+        if (cur != ByteBufferUtils.EMPTY) {
+            cur.order(order);
+        }
+    }
+
+    @Override
+    public int bufferSize() {
+        return pageSize;
+    }
+
+    @Override
+    public boolean canRead() {
+        return true;
+    }
+
+    @Override
+    public boolean canWrite() {
+        return ChannelUtils.isWritable(chan);
+    }
+
+    @Override
+    public boolean canGrow() {
+        return canWrite();
+    }
+
+    @Override
+    public boolean canSeek() {
+        return true;
+    }
+
+    /**
+     * Writes all modified pages back to the channel.
+     *
+     * @throws IOException if writing the pages causes an error
+     */
+    @Override
+    public void flush() throws IOException {
+        sync();
+
+        // the current buffer must be requested again before it can be modified
+        if (write) {
+            detach();
+            write = false;
+        }
+
+        for (Page page : pages.values()) {
+            if (page.dirty) {
+                writeBack(page);
+            }
+        }
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+
+        if (position() >= size()) {
+            return -1;
+        }
+
+        return ByteBufferUtils.transfer(requestRead(1), dst);
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        if (!src.hasRemaining()) {
+            return 0;
+        }
+
+        return ByteBufferUtils.transfer(src, requestWrite(1));
+    }
+
+    @Override
+    public ByteBuffer requestRead(int required) throws EOFException, IOException {
+        if (!write && cur.remaining() >= required) {
+            return cur;
+        }
+        return request(required, false);
+    }
+
+    @Override
+    public ByteBuffer requestWrite(int required) throws EOFException, IOException {
+        if (write && cur.remaining() >= required) {
+            return cur;
+        }
+        return request(required, true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            pages.clear();
+            chan.close();
+        }
+    }
+}
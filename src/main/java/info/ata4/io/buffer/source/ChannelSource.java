@@ -10,6 +10,7 @@
 package info.ata4.io.buffer.source;
 
 import info.ata4.io.buffer.ByteBufferChannel;
+import info.ata4.io.buffer.ByteBufferPool;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -26,11 +27,38 @@ public abstract class ChannelSource<T extends Channel> implements BufferedSource
     protected final T chan;
     protected final ByteBufferChannel chanBuf;
     
-    public ChannelSource(ByteBuffer buf, T chan) {
+    private ByteBufferPool pool;
+    private boolean closed;
+    
+    /**
+     * Creates a new channel source with a buffer that was acquired from a pool.
+     * The buffer is returned to the pool when the source is closed.
+     * 
+     * @param buf buffer
+     * @param chan channel
+     * @param pool owning pool of the buffer, may be null
+     */
+    public ChannelSource(ByteBuffer buf, T chan, ByteBufferPool pool) {
         this.buf = buf;
         this.buf.limit(0);
         this.chan = chan;
         this.chanBuf = new ByteBufferChannel(buf);
+        this.pool = pool;
+    }
+    
+    public ChannelSource(ByteBuffer buf, T chan) {
+        this(buf, chan, null);
+    }
+    
+    /**
+     * Returns the buffer to its pool, if there is one. Does nothing if the
+     * buffer has already been released.
+     */
+    protected void releaseBuffer() {
+        if (pool != null) {
+            pool.release(buf);
+            pool = null;
+        }
     }
     
     @Override
@@ -70,7 +98,21 @@ public abstract class ChannelSource<T extends Channel> implements BufferedSource
     
     @Override
     public void close() throws IOException {
-        flush();
-        chan.close();
+        // the buffer may already be in use elsewhere after it was released
+        if (closed) {
+            return;
+        }
+        
+        closed = true;
+        
+        try {
+            flush();
+        } finally {
+            try {
+                chan.close();
+            } finally {
+                releaseBuffer();
+            }
+        }
     }
 }
@@ -0,0 +1,453 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer.source;
+
+import info.ata4.io.buffer.ByteBufferPool;
+import info.ata4.io.buffer.ByteBufferUtils;
+import info.ata4.log.LogUtils;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Growable in-memory source that stores its data in a list of chunks with a
+ * fixed size.
+ *
+ * Unlike a byte array that doubles its capacity, existing data is never copied
+ * when the source grows. The source can be positioned freely and written data
+ * can be overwritten. Requests that cross a chunk boundary are served by a
+ * separate scratch buffer that is copied back into the chunks on the next
+ * operation.
+ *
+ * The written data is available as a list of buffers for gathering writes with
+ * {@link #toBuffers()} or as one consolidated buffer with {@link #toByteBuffer()}.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class ChunkedMemorySource implements BufferedSource {
+
+    private static final Logger L = LogUtils.getLogger();
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16; // 64 KiB
+
+    private final int chunkSize;
+    private final boolean direct;
+    private final ByteBufferPool pool;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private long size;
+
+    private ByteBuffer cur = ByteBufferUtils.EMPTY;
+    private long curBase;
+    private boolean write;
+
+    private ByteBuffer scratch;
+
+    private ByteOrder order = ByteOrder.BIG_ENDIAN;
+
+    private ChunkedMemorySource(int chunkSize, boolean direct, ByteBufferPool pool) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Invalid chunk size");
+        }
+
+        this.chunkSize = chunkSize;
+        this.direct = direct;
+        this.pool = pool;
+    }
+
+    /**
+     * Creates a source with unpooled chunks.
+     *
+     * @param chunkSize size of each chunk in bytes
+     * @param direct if true, the chunks are allocated as direct buffers
+     */
+    public ChunkedMemorySource(int chunkSize, boolean direct) {
+        this(chunkSize, direct, null);
+    }
+
+    /**
+     * Creates a source with chunks that are acquired from a pool. The chunks
+     * are released when the source is closed, so buffers returned by
+     * {@link #toBuffers()} must not be used afterwards.
+     *
+     * @param chunkSize size of each chunk in bytes
+     * @param pool buffer pool for the chunks
+     */
+    public ChunkedMemorySource(int chunkSize, ByteBufferPool pool) {
+        this(chunkSize, true, pool);
+
+        if (pool == null) {
+            throw new NullPointerException();
+        }
+    }
+
+    public ChunkedMemorySource() {
+        this(DEFAULT_CHUNK_SIZE, false);
+    }
+
+    private ByteBuffer allocateChunk() {
+        ByteBuffer bb;
+        if (pool != null) {
+            bb = pool.acquire(chunkSize);
+
+            // pooled buffers may contain old data
+            while (bb.remaining() >= 8) {
+                bb.putLong(0);
+            }
+            while (bb.hasRemaining()) {
+                bb.put((byte) 0);
+            }
+        } else if (direct) {
+            bb = ByteBuffer.allocateDirect(chunkSize);
+        } else {
+            bb = ByteBuffer.allocate(chunkSize);
+        }
+        return bb;
+    }
+
+    private void ensureCapacity(long required) {
+        long capacity = (long) chunks.size() * chunkSize;
+        if (required <= capacity) {
+            return;
+        }
+
+        L.log(Level.FINEST, "ensureCapacity: growing from {0} to {1} bytes",
+                new Object[] {capacity, required});
+
+        for (; capacity < required; capacity += chunkSize) {
+            chunks.add(allocateChunk());
+        }
+    }
+
+    private ByteBuffer chunk(int index, int offset, int limit) {
+        ByteBuffer bb = chunks.get(index);
+        bb.limit(limit);
+        bb.position(offset);
+        bb.order(order);
+        return bb;
+    }
+
+    private void updateSize() {
+        if (write) {
+            size = Math.max(size, curBase + cur.position());
+        }
+    }
+
+    /**
+     * Copies the bytes between {@code pos} and the position of {@code bb} from
+     * or to the chunks.
+     */
+    private void copy(ByteBuffer bb, long pos, boolean toChunks) {
+        int end = bb.position();
+        bb.position(0);
+
+        while (bb.position() < end) {
+            int index = (int) (pos / chunkSize);
+            int offset = (int) (pos % chunkSize);
+            int length = Math.min(end - bb.position(), chunkSize - offset);
+
+            ByteBuffer chunk = chunk(index, offset, offset + length);
+            int limit = bb.limit();
+            bb.limit(bb.position() + length);
+            if (toChunks) {
+                chunk.put(bb);
+            } else {
+                bb.put(chunk);
+            }
+            bb.limit(limit);
+
+            pos += length;
+        }
+    }
+
+    /**
+     * Updates the size and moves the written contents of the scratch buffer to
+     * the chunks if it is active.
+     */
+    private void sync() {
+        updateSize();
+
+        if (cur != scratch) {
+            return;
+        }
+
+        if (write) {
+            copy(scratch, curBase, true);
+        }
+
+        curBase += scratch.position();
+        cur = ByteBufferUtils.EMPTY;
+    }
+
+    private ByteBuffer request(int required, boolean write) throws IOException {
+        sync();
+
+        long pos = curBase + cur.position();
+        long end = pos + required;
+
+        if (write) {
+            // always provide the chunk at the position, even for empty requests
+            ensureCapacity(Math.max(end, pos + 1));
+        } else if (end > size) {
+            throw new EOFException();
+        }
+
+        this.write = write;
+
+        int index = (int) (pos / chunkSize);
+        int offset = (int) (pos % chunkSize);
+
+        if (index == chunks.size()) {
+            // empty read request at the end of the last chunk
+            curBase = pos;
+            cur = ByteBufferUtils.EMPTY;
+        } else if (offset + required <= chunkSize) {
+            curBase = (long) index * chunkSize;
+
+            // don't expose bytes beyond the end of the data when reading
+            int limit = chunkSize;
+            if (!write) {
+                limit = (int) Math.min(limit, size - curBase);
+            }
+
+            cur = chunk(index, offset, limit);
+        } else {
+            L.log(Level.FINEST, "request: {0} bytes at {1} cross a chunk boundary",
+                    new Object[] {required, pos});
+
+            if (scratch == null || scratch.capacity() < required) {
+                scratch = direct ? ByteBuffer.allocateDirect(required) : ByteBuffer.allocate(required);
+            }
+
+            scratch.clear();
+            scratch.limit(required);
+            scratch.position(required);
+
+            // fill with the current contents, so the buffer can also be read
+            // when writing
+            copy(scratch, pos, false);
+
+            scratch.position(0);
+            scratch.order(order);
+
+            curBase = pos;
+            cur = scratch;
+        }
+
+        return cur;
+    }
+
+    /**
+     * Returns the written data as a list of read-only buffers that share their
+     * contents with the chunks. The buffers are only valid as long as the
+     * source is not modified or closed.
+     *
+     * @return array of buffers with a total of {@link #size()} remaining bytes
+     */
+    public ByteBuffer[] toBuffers() {
+        sync();
+
+        int count = (int) ((size + chunkSize - 1) / chunkSize);
+        ByteBuffer[] bbs = new ByteBuffer[count];
+
+        for (int i = 0; i < count; i++) {
+            ByteBuffer bb = chunks.get(i).duplicate();
+            bb.clear();
+            bb.limit((int) Math.min(chunkSize, size - (long) i * chunkSize));
+            bbs[i] = bb.asReadOnlyBuffer();
+            bbs[i].order(order);
+        }
+
+        return bbs;
+    }
+
+    /**
+     * Returns the written data as one buffer. If the data is stored in more
+     * than one chunk, it is copied into a new buffer.
+     *
+     * @return buffer with a total of {@link #size()} remaining bytes
+     * @throws IllegalStateException if the data is too large for one buffer
+     */
+    public ByteBuffer toByteBuffer() {
+        ByteBuffer[] bbs = toBuffers();
+
+        if (bbs.length == 1) {
+            return bbs[0];
+        }
+
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Data too large for a single buffer");
+        }
+
+        ByteBuffer bb = direct ? ByteBuffer.allocateDirect((int) size) : ByteBuffer.allocate((int) size);
+        for (ByteBuffer chunk : bbs) {
+            bb.put(chunk);
+        }
+        bb.flip();
+        bb.order(order);
+
+        return bb;
+    }
+
+    /**
+     * Returns a copy of the written data.
+     *
+     * @return byte array with a length of {@link #size()}
+     * @throws IllegalStateException if the data is too large for an array
+     */
+    public byte[] toByteArray() {
+        ByteBuffer[] bbs = toBuffers();
+
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Data too large for a single array");
+        }
+
+        byte[] b = new byte[(int) size];
+        int off = 0;
+        for (ByteBuffer chunk : bbs) {
+            int len = chunk.remaining();
+            chunk.get(b, off, len);
+            off += len;
+        }
+
+        return b;
+    }
+
+    @Override
+    public void position(long newPos) throws IOException {
+        sync();
+
+        if (newPos < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        // seeking alone doesn't extend the data, only the next write does, so
+        // the write buffer is dropped as it may extend beyond the end
+        if (!write && newPos >= curBase && newPos <= curBase + cur.limit()) {
+            cur.position((int) (newPos - curBase));
+        } else {
+            cur = ByteBufferUtils.EMPTY;
+            curBase = newPos;
+            write = false;
+        }
+    }
+
+    @Override
+    public long position() throws IOException {
+        return curBase + cur.position();
+    }
+
+    @Override
+    public long size() throws IOException {
+        updateSize();
+        return size;
+    }
+
+    @Override
+    public ByteOrder order() {
+        return order;
+    }
+
+    @Override
+    public void order(ByteOrder order) {
+        this.order = order;
+        if (cur != ByteBufferUtils.EMPTY) {
+            cur.order(order);
+        }
+    }
+
+    @Override
+    public int bufferSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public boolean canRead() {
+        return true;
+    }
+
+    @Override
+    public boolean canWrite() {
+        return true;
+    }
+
+    @Override
+    public boolean canGrow() {
+        return true;
+    }
+
+    @Override
+    public boolean canSeek() {
+        return true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        sync();
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+
+        if (position() >= size()) {
+            return -1;
+        }
+
+        return ByteBufferUtils.transfer(requestRead(1), dst);
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        if (!src.hasRemaining()) {
+            return 0;
+        }
+
+        return ByteBufferUtils.transfer(src, requestWrite(1));
+    }
+
+    @Override
+    public ByteBuffer requestRead(int required) throws EOFException, IOException {
+        if (!write && cur.remaining() >= required) {
+            return cur;
+        }
+        return request(required, false);
+    }
+
+    @Override
+    public ByteBuffer requestWrite(int required) throws EOFException, IOException {
+        if (write && cur.remaining() >= required) {
+            return cur;
+        }
+        return request(required, true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        updateSize();
+
+        if (pool != null) {
+            for (ByteBuffer chunk : chunks) {
+                pool.release(chunk);
+            }
+        }
+
+        chunks.clear();
+        cur = ByteBufferUtils.EMPTY;
+        scratch = null;
+    }
+}
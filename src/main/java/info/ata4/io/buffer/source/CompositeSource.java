@@ -0,0 +1,337 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer.source;
+
+import info.ata4.io.buffer.ByteBufferUtils;
+import info.ata4.log.LogUtils;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Read-only source that presents a list of seekable sources as one contiguous
+ * source, such as the parts of a split archive.
+ *
+ * Nothing is copied when the source is created. Requests that lie within a
+ * single part are served by the buffer of that part, requests that cross a part
+ * boundary are assembled in a separate scratch buffer.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class CompositeSource implements BufferedSource {
+
+    private static final Logger L = LogUtils.getLogger();
+
+    private final BufferedSource[] parts;
+
+    // absolute start of each part, followed by the total size
+    private final long[] starts;
+
+    private final int bufferSize;
+
+    // current part index or -1 if the scratch buffer is active
+    private int cur;
+
+    private ByteBuffer scratch;
+    private long scratchBase;
+
+    private ByteOrder order = ByteOrder.BIG_ENDIAN;
+
+    /**
+     * Creates a composite source. The sources are closed together with the
+     * composite source and must not be used otherwise.
+     *
+     * @param parts seekable sources in order
+     * @throws IOException if the size of a part can't be determined
+     */
+    public CompositeSource(List<? extends BufferedSource> parts) throws IOException {
+        this.parts = parts.toArray(new BufferedSource[parts.size()]);
+
+        starts = new long[this.parts.length + 1];
+
+        int maxBufferSize = 0;
+        for (int i = 0; i < this.parts.length; i++) {
+            BufferedSource part = this.parts[i];
+            if (!part.canRead() || !part.canSeek()) {
+                throw new IllegalArgumentException("Parts must be readable and seekable");
+            }
+
+            part.order(order);
+            part.position(0);
+
+            starts[i + 1] = starts[i] + part.size();
+            maxBufferSize = Math.max(maxBufferSize, part.bufferSize());
+        }
+
+        bufferSize = maxBufferSize;
+    }
+
+    /**
+     * Creates a composite source for the remaining bytes of a list of buffers.
+     *
+     * @param buffers byte buffers
+     * @return new source
+     * @throws IOException
+     */
+    public static CompositeSource forBuffers(List<ByteBuffer> buffers) throws IOException {
+        List<BufferedSource> sources = new ArrayList<>(buffers.size());
+        for (ByteBuffer bb : buffers) {
+            sources.add(new ByteBufferSource(bb.slice()));
+        }
+        return new CompositeSource(sources);
+    }
+
+    public static CompositeSource forBuffers(ByteBuffer... buffers) throws IOException {
+        return forBuffers(Arrays.asList(buffers));
+    }
+
+    /**
+     * Creates a composite source for a list of files that are mapped into
+     * memory on demand.
+     *
+     * @param paths file paths
+     * @return new source
+     * @throws IOException if a file couldn't be opened
+     */
+    public static CompositeSource forMappedFiles(List<Path> paths) throws IOException {
+        List<BufferedSource> sources = new ArrayList<>(paths.size());
+        try {
+            for (Path path : paths) {
+                FileChannel fc = FileChannel.open(path, StandardOpenOption.READ);
+                sources.add(new MappedFileSource(fc, MapMode.READ_ONLY));
+            }
+        } catch (IOException ex) {
+            for (BufferedSource source : sources) {
+                source.close();
+            }
+            throw ex;
+        }
+        return new CompositeSource(sources);
+    }
+
+    private int partIndex(long pos) {
+        int index = Arrays.binarySearch(starts, pos);
+        if (index < 0) {
+            // insertion point minus one is the part that contains the position
+            index = -index - 2;
+        } else {
+            // skip empty parts
+            while (index < parts.length - 1 && starts[index + 1] == pos) {
+                index++;
+            }
+        }
+        return Math.min(index, parts.length - 1);
+    }
+
+    private long partRemaining(int index) throws IOException {
+        return starts[index + 1] - (starts[index] + parts[index].position());
+    }
+
+    @Override
+    public void position(long newPos) throws IOException {
+        if (newPos < 0 || newPos > size()) {
+            throw new IllegalArgumentException();
+        }
+
+        if (parts.length == 0) {
+            return;
+        }
+
+        cur = partIndex(newPos);
+        parts[cur].position(newPos - starts[cur]);
+    }
+
+    @Override
+    public long position() throws IOException {
+        if (cur == -1) {
+            return scratchBase + scratch.position();
+        }
+
+        if (parts.length == 0) {
+            return 0;
+        }
+
+        return starts[cur] + parts[cur].position();
+    }
+
+    @Override
+    public long size() throws IOException {
+        return starts[parts.length];
+    }
+
+    @Override
+    public ByteOrder order() {
+        return order;
+    }
+
+    @Override
+    public void order(ByteOrder order) {
+        this.order = order;
+        for (BufferedSource part : parts) {
+            part.order(order);
+        }
+        if (scratch != null) {
+            scratch.order(order);
+        }
+    }
+
+    @Override
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    @Override
+    public boolean canRead() {
+        return true;
+    }
+
+    @Override
+    public boolean canWrite() {
+        return false;
+    }
+
+    @Override
+    public boolean canGrow() {
+        return false;
+    }
+
+    @Override
+    public boolean canSeek() {
+        return true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // read-only
+    }
+
+    /**
+     * Leaves the scratch buffer, if active, and moves to the next part if the
+     * current one has been read completely.
+     */
+    private void sync() throws IOException {
+        if (cur == -1) {
+            position(scratchBase + scratch.position());
+        }
+
+        while (cur < parts.length - 1 && partRemaining(cur) == 0) {
+            cur++;
+            parts[cur].position(0);
+        }
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+
+        if (parts.length == 0) {
+            return -1;
+        }
+
+        sync();
+
+        return parts[cur].read(dst);
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        throw new NonWritableSourceException();
+    }
+
+    @Override
+    public ByteBuffer requestRead(int required) throws EOFException, IOException {
+        if (cur == -1 && scratch.remaining() >= required) {
+            return scratch;
+        }
+
+        if (parts.length == 0) {
+            if (required > 0) {
+                throw new EOFException();
+            }
+            return ByteBufferUtils.EMPTY;
+        }
+
+        sync();
+
+        long pos = position();
+        if (pos + required > size()) {
+            throw new EOFException();
+        }
+
+        BufferedSource part = parts[cur];
+        if (required <= part.bufferSize() && partRemaining(cur) >= required) {
+            return part.requestRead(required);
+        }
+
+        L.log(Level.FINEST, "requestRead: {0} bytes at {1} cross a part boundary",
+                new Object[] {required, pos});
+
+        if (scratch == null || scratch.capacity() < required) {
+            scratch = ByteBuffer.allocateDirect(Math.max(required, 256));
+        }
+
+        scratch.clear();
+        scratch.limit(required);
+
+        // parts are positioned at their start when they are reached
+        while (scratch.hasRemaining()) {
+            if (partRemaining(cur) == 0) {
+                cur++;
+                parts[cur].position(0);
+                continue;
+            }
+            if (parts[cur].read(scratch) < 0) {
+                throw new EOFException();
+            }
+        }
+
+        scratch.flip();
+        scratch.order(order);
+
+        scratchBase = pos;
+        cur = -1;
+
+        return scratch;
+    }
+
+    @Override
+    public ByteBuffer requestWrite(int required) throws EOFException, IOException {
+        throw new NonWritableSourceException();
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException ex = null;
+        for (BufferedSource part : parts) {
+            try {
+                part.close();
+            } catch (IOException ex2) {
+                if (ex == null) {
+                    ex = ex2;
+                }
+            }
+        }
+        if (ex != null) {
+            throw ex;
+        }
+    }
+}
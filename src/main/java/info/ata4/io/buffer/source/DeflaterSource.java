@@ -0,0 +1,332 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer.source;
+
+import info.ata4.io.buffer.ByteBufferPools;
+import info.ata4.io.util.DeflaterPool;
+import info.ata4.log.LogUtils;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+
+/**
+ * Write-only source that compresses written data as a zlib or raw deflate
+ * stream into another source.
+ *
+ * The deflater writes directly into the buffer of the output source if it is
+ * backed by an array, otherwise the compressed data is copied in chunks. The
+ * stream is completed by {@link #finish()} or when the source is closed.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class DeflaterSource implements BufferedSource {
+
+    private static final Logger L = LogUtils.getLogger();
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16; // 64 KiB
+
+    private final BufferedSource out;
+    private final boolean closeOutput;
+    private final DeflaterPool pool;
+    private final ByteBuffer buf;
+
+    private Deflater deflater;
+    private byte[] output;
+    private boolean finished;
+
+    private DeflaterSource(BufferedSource out, boolean closeOutput, DeflaterPool pool, int level, int bufferSize) {
+        if (!out.canWrite()) {
+            throw new NonWritableSourceException();
+        }
+
+        this.out = out;
+        this.closeOutput = closeOutput;
+        this.pool = pool;
+
+        // the deflater only accepts arrays before Java 11
+        buf = ByteBuffer.allocate(bufferSize);
+
+        deflater = pool.acquire(level);
+    }
+
+    /**
+     * Creates a source that writes compressed data to another source. The
+     * output source is not closed together with this source, so writing can
+     * continue after the compressed section.
+     *
+     * @param out compressed output source
+     * @param pool pool for the deflater
+     * @param level compression level from 0 to 9 or
+     *              {@link Deflater#DEFAULT_COMPRESSION}
+     * @param bufferSize size of the buffer for uncompressed data
+     */
+    public DeflaterSource(BufferedSource out, DeflaterPool pool, int level, int bufferSize) {
+        this(out, false, pool, level, bufferSize);
+    }
+
+    public DeflaterSource(BufferedSource out, int level, boolean nowrap) {
+        this(out, DeflaterPool.getDefault(nowrap), level, DEFAULT_BUFFER_SIZE);
+    }
+
+    public DeflaterSource(BufferedSource out) {
+        this(out, Deflater.DEFAULT_COMPRESSION, false);
+    }
+
+    /**
+     * Creates a source that writes compressed data to a channel. The channel
+     * is closed together with this source.
+     *
+     * @param chan compressed output channel
+     * @param pool pool for the deflater
+     * @param level compression level from 0 to 9 or
+     *              {@link Deflater#DEFAULT_COMPRESSION}
+     * @param bufferSize size of the buffer for uncompressed data
+     */
+    public DeflaterSource(WritableByteChannel chan, DeflaterPool pool, int level, int bufferSize) {
+        this(new WritableByteChannelSource(ByteBufferPools.getDefault().acquire(bufferSize),
+                chan, ByteBufferPools.getDefault()), true, pool, level, bufferSize);
+    }
+
+    public DeflaterSource(WritableByteChannel chan, int level, boolean nowrap) {
+        this(chan, DeflaterPool.getDefault(nowrap), level, DEFAULT_BUFFER_SIZE);
+    }
+
+    private void checkOpen() throws IOException {
+        if (deflater == null) {
+            throw new IOException("Source closed");
+        }
+        if (finished) {
+            throw new IOException("Stream already finished");
+        }
+    }
+
+    /**
+     * Compresses the next chunk into the output source.
+     *
+     * @return true if the output space was used completely and there may be
+     *         more output pending
+     */
+    private boolean deflate(int flush) throws IOException {
+        ByteBuffer bb = out.requestWrite(1);
+
+        if (bb.hasArray()) {
+            int space = bb.remaining();
+            int n = deflater.deflate(bb.array(), bb.arrayOffset() + bb.position(), space, flush);
+            bb.position(bb.position() + n);
+            return n == space;
+        }
+
+        if (output == null) {
+            output = new byte[buf.capacity()];
+        }
+
+        int n = deflater.deflate(output, 0, output.length, flush);
+
+        ByteBuffer src = ByteBuffer.wrap(output, 0, n);
+        while (src.hasRemaining() && out.write(src) > 0);
+        if (src.hasRemaining()) {
+            throw new EOFException();
+        }
+
+        return n == output.length;
+    }
+
+    /**
+     * Compresses all buffered bytes.
+     */
+    private void deflateBuffer() throws IOException {
+        checkOpen();
+
+        buf.flip();
+
+        if (buf.hasRemaining()) {
+            deflater.setInput(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+            while (!deflater.needsInput()) {
+                deflate(Deflater.NO_FLUSH);
+            }
+        }
+
+        buf.clear();
+    }
+
+    /**
+     * Compresses all buffered bytes and writes the end of the compressed
+     * stream. The output source is flushed, but not closed. No data can be
+     * written afterwards.
+     *
+     * @throws IOException if writing the compressed data causes an error
+     */
+    public void finish() throws IOException {
+        deflateBuffer();
+
+        deflater.finish();
+        while (!deflater.finished()) {
+            deflate(Deflater.NO_FLUSH);
+        }
+
+        finished = true;
+
+        L.log(Level.FINEST, "finish: {0} bytes compressed to {1} bytes",
+                new Object[] {deflater.getBytesRead(), deflater.getBytesWritten()});
+
+        out.flush();
+    }
+
+    @Override
+    public void position(long newPos) throws IOException {
+        throw new NonSeekableSourceException();
+    }
+
+    @Override
+    public long position() throws IOException {
+        throw new NonSeekableSourceException();
+    }
+
+    @Override
+    public long size() throws IOException {
+        throw new NonSeekableSourceException();
+    }
+
+    @Override
+    public ByteOrder order() {
+        return buf.order();
+    }
+
+    @Override
+    public void order(ByteOrder order) {
+        buf.order(order);
+    }
+
+    @Override
+    public int bufferSize() {
+        return buf.capacity();
+    }
+
+    @Override
+    public boolean canRead() {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite() {
+        return true;
+    }
+
+    @Override
+    public boolean canGrow() {
+        return true;
+    }
+
+    @Override
+    public boolean canSeek() {
+        return false;
+    }
+
+    /**
+     * Compresses all buffered bytes and flushes them to the output source, so
+     * everything that was written so far can be decompressed. Flushing too
+     * often reduces the compression ratio.
+     *
+     * @throws IOException if writing the compressed data causes an error
+     */
+    @Override
+    public void flush() throws IOException {
+        if (deflater == null || finished) {
+            return;
+        }
+
+        deflateBuffer();
+
+        while (deflate(Deflater.SYNC_FLUSH));
+
+        out.flush();
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        throw new NonReadableSourceException();
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        if (!src.hasRemaining()) {
+            return 0;
+        }
+
+        if (src.hasArray() && src.remaining() >= buf.capacity()) {
+            // compress large arrays without copying them into the buffer
+            deflateBuffer();
+
+            int n = src.remaining();
+            deflater.setInput(src.array(), src.arrayOffset() + src.position(), n);
+            while (!deflater.needsInput()) {
+                deflate(Deflater.NO_FLUSH);
+            }
+            src.position(src.limit());
+
+            return n;
+        }
+
+        if (!buf.hasRemaining()) {
+            deflateBuffer();
+        }
+
+        int n = Math.min(src.remaining(), buf.remaining());
+        int limit = src.limit();
+        src.limit(src.position() + n);
+        buf.put(src);
+        src.limit(limit);
+
+        return n;
+    }
+
+    @Override
+    public ByteBuffer requestRead(int required) throws EOFException, IOException {
+        throw new NonReadableSourceException();
+    }
+
+    @Override
+    public ByteBuffer requestWrite(int required) throws EOFException, IOException {
+        if (buf.remaining() < required) {
+            deflateBuffer();
+
+            if (buf.remaining() < required) {
+                throw new EOFException();
+            }
+        }
+
+        return buf;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (deflater == null) {
+            return;
+        }
+
+        try {
+            if (!finished) {
+                finish();
+            }
+        } finally {
+            pool.release(deflater);
+            deflater = null;
+
+            if (closeOutput) {
+                out.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer.source;
+
+import java.io.IOException;
+
+/**
+ * Buffered source that can create independent sources for the same data.
+ * 
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public interface ForkableSource extends BufferedSource {
+    
+    /**
+     * Creates a new source for the same data with its own buffer and position.
+     * The new source starts at the current position and byte order of this
+     * source and may be used concurrently with this source in another thread.
+     * It must be closed separately.
+     * 
+     * @return new source
+     * @throws IOException if the source couldn't be created
+     */
+    public ForkableSource fork() throws IOException;
+}
@@ -0,0 +1,33 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer.source;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Buffered source that can write a sequence of buffers at once, together with
+ * its own pending bytes.
+ * 
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public interface GatheringSource extends BufferedSource {
+    
+    /**
+     * Writes contents from a sequence of buffers to this source. Behaves like
+     * {@link java.nio.channels.GatheringByteChannel#write(java.nio.ByteBuffer[])}.
+     * 
+     * @param srcs source buffers
+     * @return number of bytes written
+     * @throws IOException if there was a writing error
+     * @throws NonWritableSourceException if the source is not writable
+     */
+    public long write(ByteBuffer[] srcs) throws IOException;
+}
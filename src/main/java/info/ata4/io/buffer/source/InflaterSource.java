@@ -0,0 +1,300 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer.source;
+
+import info.ata4.io.buffer.ByteBufferPools;
+import info.ata4.io.buffer.ByteBufferUtils;
+import info.ata4.io.util.InflaterPool;
+import info.ata4.log.LogUtils;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Read-only source that decompresses a zlib or raw deflate stream from another
+ * source while it is being read.
+ *
+ * The compressed data is fed to the inflater directly from the buffer of the
+ * input source if it is backed by an array, otherwise it is copied in chunks.
+ * Only the buffer of this source holds decompressed data, so the memory usage
+ * is bounded by the buffer size regardless of the size of the stream.
+ *
+ * The input source is positioned directly after the end of the compressed
+ * stream once it has been read completely, so reading can continue there. This
+ * works for all input sources, since the unused input is still in the buffer
+ * of the input source.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class InflaterSource implements BufferedSource {
+
+    private static final Logger L = LogUtils.getLogger();
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16; // 64 KiB
+
+    private final BufferedSource in;
+    private final boolean closeInput;
+    private final InflaterPool pool;
+    private final ByteBuffer buf;
+
+    private Inflater inflater;
+    private byte[] input;
+
+    // buffer of the input source that was fed last
+    private ByteBuffer fed;
+    private boolean finished;
+
+    private InflaterSource(BufferedSource in, boolean closeInput, InflaterPool pool, int bufferSize) {
+        if (!in.canRead()) {
+            throw new NonReadableSourceException();
+        }
+
+        this.in = in;
+        this.closeInput = closeInput;
+        this.pool = pool;
+
+        // the inflater only accepts arrays before Java 11
+        buf = ByteBuffer.allocate(bufferSize);
+        buf.limit(0);
+
+        inflater = pool.acquire();
+    }
+
+    /**
+     * Creates a source that decompresses data from another source. The input
+     * source is not closed together with this source, so reading can continue
+     * after the compressed section.
+     *
+     * @param in compressed input source
+     * @param pool pool for the inflater
+     * @param bufferSize size of the buffer for decompressed data
+     */
+    public InflaterSource(BufferedSource in, InflaterPool pool, int bufferSize) {
+        this(in, false, pool, bufferSize);
+    }
+
+    public InflaterSource(BufferedSource in, boolean nowrap) {
+        this(in, InflaterPool.getDefault(nowrap), DEFAULT_BUFFER_SIZE);
+    }
+
+    public InflaterSource(BufferedSource in) {
+        this(in, false);
+    }
+
+    /**
+     * Creates a source that decompresses data from a channel. The channel is
+     * closed together with this source.
+     *
+     * @param chan compressed input channel
+     * @param pool pool for the inflater
+     * @param bufferSize size of the buffer for decompressed data
+     */
+    public InflaterSource(ReadableByteChannel chan, InflaterPool pool, int bufferSize) {
+        this(new ReadableByteChannelSource(ByteBufferPools.getDefault().acquire(bufferSize),
+                chan, ByteBufferPools.getDefault()), true, pool, bufferSize);
+    }
+
+    public InflaterSource(ReadableByteChannel chan, boolean nowrap) {
+        this(chan, InflaterPool.getDefault(nowrap), DEFAULT_BUFFER_SIZE);
+    }
+
+    private void checkOpen() throws IOException {
+        if (inflater == null) {
+            throw new IOException("Source closed");
+        }
+    }
+
+    /**
+     * Passes the next chunk of compressed data to the inflater.
+     */
+    private void feed() throws IOException {
+        ByteBuffer bb = in.requestRead(1);
+        int n = bb.remaining();
+
+        if (bb.hasArray()) {
+            inflater.setInput(bb.array(), bb.arrayOffset() + bb.position(), n);
+            bb.position(bb.position() + n);
+        } else {
+            if (input == null) {
+                input = new byte[buf.capacity()];
+            }
+            n = Math.min(n, input.length);
+            bb.get(input, 0, n);
+            inflater.setInput(input, 0, n);
+        }
+
+        fed = bb;
+    }
+
+    /**
+     * Returns the compressed bytes that were fed beyond the end of the stream
+     * to the input source. The input source isn't requested again while the
+     * inflater still has input, so these bytes are always in its buffer.
+     */
+    private void finish() throws IOException {
+        finished = true;
+
+        int remaining = inflater.getRemaining();
+
+        L.log(Level.FINEST, "finish: {0} bytes decompressed, {1} bytes unused",
+                new Object[] {inflater.getBytesWritten(), remaining});
+
+        if (remaining > 0) {
+            fed.position(fed.position() - remaining);
+        }
+        fed = null;
+    }
+
+    private void fill(int required) throws IOException {
+        checkOpen();
+
+        buf.compact();
+
+        try {
+            // inflate at least the required number of bytes, then continue
+            // until the inflater needs more input
+            while (buf.hasRemaining() && !finished
+                    && (buf.position() < required || !inflater.needsInput())) {
+                if (inflater.needsInput()) {
+                    feed();
+                }
+
+                int n = inflater.inflate(buf.array(), buf.arrayOffset() + buf.position(),
+                        buf.remaining());
+                buf.position(buf.position() + n);
+
+                if (inflater.finished()) {
+                    finish();
+                } else if (inflater.needsDictionary()) {
+                    throw new ZipException("Preset dictionaries are not supported");
+                }
+            }
+        } catch (DataFormatException ex) {
+            throw new ZipException(ex.getMessage());
+        } finally {
+            buf.flip();
+        }
+    }
+
+    @Override
+    public void position(long newPos) throws IOException {
+        throw new NonSeekableSourceException();
+    }
+
+    @Override
+    public long position() throws IOException {
+        throw new NonSeekableSourceException();
+    }
+
+    @Override
+    public long size() throws IOException {
+        throw new NonSeekableSourceException();
+    }
+
+    @Override
+    public ByteOrder order() {
+        return buf.order();
+    }
+
+    @Override
+    public void order(ByteOrder order) {
+        buf.order(order);
+    }
+
+    @Override
+    public int bufferSize() {
+        return buf.capacity();
+    }
+
+    @Override
+    public boolean canRead() {
+        return true;
+    }
+
+    @Override
+    public boolean canWrite() {
+        return false;
+    }
+
+    @Override
+    public boolean canGrow() {
+        return false;
+    }
+
+    @Override
+    public boolean canSeek() {
+        return false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+
+        if (!buf.hasRemaining()) {
+            fill(1);
+
+            if (!buf.hasRemaining()) {
+                return -1;
+            }
+        }
+
+        return ByteBufferUtils.transfer(buf, dst);
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        throw new NonWritableSourceException();
+    }
+
+    @Override
+    public ByteBuffer requestRead(int required) throws EOFException, IOException {
+        if (buf.remaining() < required) {
+            fill(required);
+
+            if (buf.remaining() < required) {
+                throw new EOFException();
+            }
+        }
+
+        return buf;
+    }
+
+    @Override
+    public ByteBuffer requestWrite(int required) throws EOFException, IOException {
+        throw new NonWritableSourceException();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (inflater == null) {
+            return;
+        }
+
+        pool.release(inflater);
+        inflater = null;
+
+        if (closeInput) {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,418 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer.source;
+
+import info.ata4.io.buffer.ByteBufferUtils;
+import info.ata4.log.LogUtils;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Buffered source for memory-mapped files of any size.
+ *
+ * The file is mapped lazily as a list of segments with a fixed size. Every
+ * segment overlaps with the beginning of the next one by a few bytes, so
+ * primitives and other small requests that cross a segment boundary can be
+ * served without copying. Larger requests that don't fit into a segment are
+ * mapped separately.
+ *
+ * In {@link MapMode#READ_WRITE} mode, the file grows when writing beyond its
+ * end. The mapped region may be larger than the written data in that case and
+ * the file is truncated to its actual size when the source is closed.
+ *
+ * Slices are read-only views of a mapped segment if the region fits into one,
+ * otherwise the region is mapped separately. Forks are read-only sources with
+ * their own position that share the mapped segments and the file channel. The
+ * channel is closed once all of them have been closed.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class MappedFileSource implements ForkableSource, SliceableSource {
+
+    private static final Logger L = LogUtils.getLogger();
+
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 30; // 1 GiB
+    public static final int DEFAULT_SEGMENT_OVERLAP = 1 << 16; // 64 KiB
+
+    private static final long MIN_GROWTH = 1 << 16;
+
+    private final FileChannel fc;
+    private final MapMode mode;
+    private final int segmentSize;
+    private final int segmentOverlap;
+    private final AtomicInteger refs;
+
+    private MappedByteBuffer[] segments;
+    private long mapped;
+    private long size;
+
+    private ByteBuffer cur = ByteBufferUtils.EMPTY;
+    private long curBase;
+    private boolean write;
+
+    private ByteOrder order = ByteOrder.BIG_ENDIAN;
+    private boolean closed;
+
+    public MappedFileSource(FileChannel fc, MapMode mode, int segmentSize, int segmentOverlap) throws IOException {
+        if (segmentSize <= 0 || segmentOverlap < 0
+                || segmentSize > Integer.MAX_VALUE - segmentOverlap) {
+            throw new IllegalArgumentException("Invalid segment size");
+        }
+
+        this.fc = fc;
+        this.mode = mode;
+        this.segmentSize = segmentSize;
+        this.segmentOverlap = segmentOverlap;
+
+        refs = new AtomicInteger(1);
+        size = mapped = fc.size();
+        segments = new MappedByteBuffer[segmentCount(mapped)];
+    }
+
+    private MappedFileSource(MappedFileSource parent) throws IOException {
+        fc = parent.fc;
+        mode = MapMode.READ_ONLY;
+        segmentSize = parent.segmentSize;
+        segmentOverlap = parent.segmentOverlap;
+
+        refs = parent.refs;
+        refs.incrementAndGet();
+
+        // the space reserved by the parent for writing is never mapped here
+        size = mapped = parent.size();
+        segments = parent.segments.clone();
+
+        curBase = parent.position();
+        order = parent.order;
+    }
+
+    public MappedFileSource(FileChannel fc, MapMode mode) throws IOException {
+        this(fc, mode, DEFAULT_SEGMENT_SIZE, DEFAULT_SEGMENT_OVERLAP);
+    }
+
+    private int segmentCount(long length) {
+        long count = (length + segmentSize - 1) / segmentSize;
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("File too large for segment size");
+        }
+        return (int) count;
+    }
+
+    private MappedByteBuffer segment(int index) throws IOException {
+        MappedByteBuffer seg = segments[index];
+        if (seg == null) {
+            long base = (long) index * segmentSize;
+            long length = Math.min(segmentSize + segmentOverlap, mapped - base);
+
+            L.log(Level.FINEST, "segment: mapping {0} bytes at {1}",
+                    new Object[] {length, base});
+
+            seg = fc.map(mode, base, length);
+            segments[index] = seg;
+        }
+        return seg;
+    }
+
+    private void ensureCapacity(long required) {
+        if (required <= mapped) {
+            return;
+        }
+
+        // grow exponentially up to the segment size to avoid re-mapping the
+        // last segment on every write
+        long growth = Math.max(MIN_GROWTH, Math.min(mapped, segmentSize));
+        long newMapped = Math.max(required, mapped + growth);
+
+        L.log(Level.FINEST, "ensureCapacity: growing from {0} to {1} bytes",
+                new Object[] {mapped, newMapped});
+
+        // drop all segments that were truncated by the old file size
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i] != null && segments[i].capacity() < segmentSize + segmentOverlap) {
+                segments[i] = null;
+            }
+        }
+
+        segments = Arrays.copyOf(segments, segmentCount(newMapped));
+        mapped = newMapped;
+    }
+
+    private void updateSize() {
+        if (write) {
+            size = Math.max(size, curBase + cur.position());
+        }
+    }
+
+    private ByteBuffer request(int required, boolean write) throws IOException {
+        updateSize();
+
+        long pos = curBase + cur.position();
+        long end = pos + required;
+
+        if (write) {
+            if (!canWrite()) {
+                throw new NonWritableSourceException();
+            }
+            if (end > size) {
+                if (!canGrow()) {
+                    throw new EOFException();
+                }
+                ensureCapacity(end);
+            }
+        } else if (end > size) {
+            throw new EOFException();
+        }
+
+        this.write = write;
+
+        int index = (int) (pos / segmentSize);
+        int offset = (int) (pos % segmentSize);
+
+        ByteBuffer bb = index < segments.length ? segment(index) : null;
+
+        if (bb != null && offset + required <= bb.capacity()) {
+            // segments may be shared with forks, so they're never modified
+            bb = bb.duplicate();
+            curBase = (long) index * segmentSize;
+        } else {
+            // request is too large for the segment overlap, map it separately
+            long length = Math.max(required, Math.min(segmentSize, mapped - pos));
+
+            L.log(Level.FINEST, "request: mapping {0} bytes at {1}",
+                    new Object[] {length, pos});
+
+            bb = fc.map(mode, pos, length);
+            curBase = pos;
+            offset = 0;
+        }
+
+        // don't expose mapped bytes beyond the end of the file when reading
+        int limit = bb.capacity();
+        if (!write) {
+            limit = (int) Math.min(limit, size - curBase);
+        }
+
+        bb.limit(limit);
+        bb.position(offset);
+        bb.order(order);
+
+        cur = bb;
+
+        return cur;
+    }
+
+    @Override
+    public MappedFileSource fork() throws IOException {
+        if (closed) {
+            throw new IOException("Source is closed");
+        }
+        return new MappedFileSource(this);
+    }
+
+    @Override
+    public ByteBufferSource slice(long offset, long length) throws IOException {
+        if (offset < 0 || length < 0 || offset > size() - length) {
+            throw new IllegalArgumentException();
+        }
+
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Slice too large");
+        }
+
+        int index = (int) (offset / segmentSize);
+        int segOffset = (int) (offset % segmentSize);
+
+        ByteBuffer bb;
+
+        if (index < segments.length && segOffset + length <= segment(index).capacity()) {
+            bb = segment(index).duplicate();
+            bb.limit((int) (segOffset + length));
+            bb.position(segOffset);
+            bb = bb.slice();
+        } else {
+            L.log(Level.FINEST, "slice: mapping {0} bytes at {1}",
+                    new Object[] {length, offset});
+
+            bb = fc.map(MapMode.READ_ONLY, offset, length);
+        }
+
+        bb = bb.asReadOnlyBuffer();
+        bb.order(order);
+
+        return new ByteBufferSource(bb);
+    }
+
+    @Override
+    public void position(long newPos) throws IOException {
+        updateSize();
+
+        if (newPos < 0 || (!canGrow() && newPos > size)) {
+            throw new IllegalArgumentException();
+        }
+
+        // seeking alone doesn't extend the file, only the next write does, so
+        // the write buffer is dropped as it may extend beyond the end
+        if (!write && newPos >= curBase && newPos <= curBase + cur.limit()) {
+            cur.position((int) (newPos - curBase));
+        } else {
+            cur = ByteBufferUtils.EMPTY;
+            curBase = newPos;
+            write = false;
+        }
+    }
+
+    @Override
+    public long position() throws IOException {
+        return curBase + cur.position();
+    }
+
+    @Override
+    public long size() throws IOException {
+        updateSize();
+        return size;
+    }
+
+    @Override
+    public ByteOrder order() {
+        return order;
+    }
+
+    @Override
+    public void order(ByteOrder order) {
+        this.order = order;
+        if (cur != ByteBufferUtils.EMPTY) {
+            cur.order(order);
+        }
+    }
+
+    @Override
+    public int bufferSize() {
+        return segmentSize;
+    }
+
+    @Override
+    public boolean canRead() {
+        return true;
+    }
+
+    @Override
+    public boolean canWrite() {
+        return mode != MapMode.READ_ONLY;
+    }
+
+    @Override
+    public boolean canGrow() {
+        return mode == MapMode.READ_WRITE;
+    }
+
+    @Override
+    public boolean canSeek() {
+        return true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (mode != MapMode.READ_WRITE) {
+            return;
+        }
+
+        for (MappedByteBuffer seg : segments) {
+            if (seg != null) {
+                seg.force();
+            }
+        }
+
+        // separately mapped request buffer
+        if (cur instanceof MappedByteBuffer) {
+            ((MappedByteBuffer) cur).force();
+        }
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+
+        if (position() >= size()) {
+            return -1;
+        }
+
+        return ByteBufferUtils.transfer(requestRead(1), dst);
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        if (!canWrite()) {
+            throw new NonWritableSourceException();
+        }
+
+        if (!src.hasRemaining()) {
+            return 0;
+        }
+
+        if (!canGrow() && position() >= size()) {
+            return -1;
+        }
+
+        return ByteBufferUtils.transfer(src, requestWrite(1));
+    }
+
+    @Override
+    public ByteBuffer requestRead(int required) throws EOFException, IOException {
+        if (!write && cur.remaining() >= required) {
+            return cur;
+        }
+        return request(required, false);
+    }
+
+    @Override
+    public ByteBuffer requestWrite(int required) throws EOFException, IOException {
+        if (write && cur.remaining() >= required) {
+            return cur;
+        }
+        return request(required, true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        updateSize();
+
+        segments = new MappedByteBuffer[0];
+        cur = ByteBufferUtils.EMPTY;
+
+        try {
+            // remove unused space that was reserved while growing
+            if (canGrow() && fc.size() > size) {
+                fc.truncate(size);
+            }
+        } finally {
+            // close the channel when the last source has been closed
+            if (refs.decrementAndGet() == 0) {
+                fc.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer.source;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class NonForkableSourceException extends UnsupportedOperationException {
+
+    /**
+     * Creates a new instance of <code>NonForkableSourceException</code> without
+     * detail message.
+     */
+    public NonForkableSourceException() {
+    }
+
+    /**
+     * Constructs an instance of <code>NonForkableSourceException</code> with
+     * the specified detail message.
+     *
+     * @param msg the detail message.
+     */
+    public NonForkableSourceException(String msg) {
+        super(msg);
+    }
+}
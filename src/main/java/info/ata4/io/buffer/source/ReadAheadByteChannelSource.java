@@ -0,0 +1,353 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer.source;
+
+import info.ata4.io.buffer.ByteBufferUtils;
+import info.ata4.log.LogUtils;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Readable channel source that reads ahead in the background.
+ *
+ * A background task keeps a queue of buffers filled from the channel while the
+ * consumer works on the data that has already been read, so parsing and I/O
+ * can overlap. The channel must not be accessed by anything else while this
+ * source is open.
+ *
+ * The consumer reads directly from the prefetched buffers, which are handed
+ * back to the background task once they have been consumed. Only requests that
+ * straddle two buffers are copied into the working buffer, which serves as a
+ * carry-over buffer.
+ *
+ * I/O errors in the background task are reported to the consumer once all data
+ * that was read before the error has been consumed.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class ReadAheadByteChannelSource extends ReadableByteChannelSource {
+
+    private static final Logger L = LogUtils.getLogger();
+
+    public static final int DEFAULT_QUEUE_DEPTH = 2;
+
+    // marks the end of the stream in the filled queue and stops the background
+    // task when put into the free queue
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private final BlockingQueue<ByteBuffer> free;
+    private final BlockingQueue<ByteBuffer> filled = new LinkedBlockingQueue<>();
+    private final Thread thread;
+
+    // buffer that is currently consumed, either a prefetched buffer or the
+    // carry-over buffer
+    private ByteBuffer cur;
+
+    // partially consumed prefetched buffer that follows the carry-over buffer
+    private ByteBuffer head;
+    private boolean eof;
+
+    private volatile IOException error;
+    private volatile boolean closed;
+
+    private ReadAheadByteChannelSource(ByteBuffer buf, ReadableByteChannel chan, int depth, Executor executor, boolean ownThread) {
+        super(buf, chan);
+
+        cur = buf;
+
+        if (depth < 1) {
+            throw new IllegalArgumentException("Invalid queue depth");
+        }
+
+        free = new ArrayBlockingQueue<>(depth + 1);
+        for (int i = 0; i < depth; i++) {
+            if (buf.isDirect()) {
+                free.add(ByteBuffer.allocateDirect(buf.capacity()));
+            } else {
+                free.add(ByteBuffer.allocate(buf.capacity()));
+            }
+        }
+
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                readAhead();
+            }
+        };
+
+        if (ownThread) {
+            thread = new Thread(task, "ReadAhead");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            thread = null;
+            executor.execute(task);
+        }
+    }
+
+    /**
+     * Creates a new read-ahead source that runs its background task on the
+     * given executor. The task occupies one executor thread until the end of
+     * the channel has been reached or the source is closed.
+     *
+     * @param buf carry-over buffer, also defines the size of the prefetched
+     *            buffers
+     * @param chan source channel
+     * @param depth number of buffers to read ahead
+     * @param executor executor for the background task
+     */
+    public ReadAheadByteChannelSource(ByteBuffer buf, ReadableByteChannel chan, int depth, Executor executor) {
+        this(buf, chan, depth, executor, false);
+    }
+
+    /**
+     * Creates a new read-ahead source with its own background thread.
+     *
+     * @param buf carry-over buffer, also defines the size of the prefetched
+     *            buffers
+     * @param chan source channel
+     * @param depth number of buffers to read ahead
+     */
+    public ReadAheadByteChannelSource(ByteBuffer buf, ReadableByteChannel chan, int depth) {
+        this(buf, chan, depth, null, true);
+    }
+
+    public ReadAheadByteChannelSource(ByteBuffer buf, ReadableByteChannel chan) {
+        this(buf, chan, DEFAULT_QUEUE_DEPTH);
+    }
+
+    private void readAhead() {
+        try {
+            boolean end = false;
+            while (!end && !closed) {
+                ByteBuffer bb = free.take();
+                if (bb == END) {
+                    break;
+                }
+
+                bb.clear();
+
+                try {
+                    int n = 0;
+                    while (bb.hasRemaining() && (n = chan.read(bb)) > 0);
+                    end = n == -1;
+                } catch (IOException ex) {
+                    // pass the bytes that were read before the error first
+                    if (!closed) {
+                        error = ex;
+                    }
+                    end = true;
+                }
+
+                bb.flip();
+
+                L.log(Level.FINEST, "readAhead: {0} bytes read", bb.remaining());
+
+                if (bb.hasRemaining()) {
+                    filled.add(bb);
+                } else {
+                    free.add(bb);
+                }
+            }
+        } catch (InterruptedException ex) {
+            if (!closed) {
+                error = new InterruptedIOException();
+            }
+        } finally {
+            filled.add(END);
+        }
+    }
+
+    private void checkError() throws IOException {
+        if (error != null) {
+            throw new IOException("Read-ahead failed", error);
+        }
+    }
+
+    /**
+     * Returns the next prefetched buffer, or null at the end of the stream.
+     */
+    private ByteBuffer next() throws IOException {
+        ByteBuffer bb = head;
+        head = null;
+
+        if (bb == null) {
+            if (eof) {
+                return null;
+            }
+
+            try {
+                bb = filled.take();
+            } catch (InterruptedException ex) {
+                throw new InterruptedIOException();
+            }
+
+            if (bb == END) {
+                eof = true;
+                return null;
+            }
+        }
+
+        bb.order(buf.order());
+
+        return bb;
+    }
+
+    private void recycle(ByteBuffer bb) {
+        // the carry-over buffer is never passed to the background task
+        if (bb != buf) {
+            free.add(bb);
+        }
+    }
+
+    /**
+     * Makes at least the given number of bytes available in the current
+     * buffer, if possible.
+     */
+    private void advance(int required) throws IOException {
+        required = Math.min(required, buf.capacity());
+
+        // continue with the next prefetched buffer
+        if (!cur.hasRemaining()) {
+            recycle(cur);
+            cur = next();
+
+            if (cur == null) {
+                buf.clear();
+                buf.limit(0);
+                cur = buf;
+                return;
+            }
+
+            if (cur.remaining() >= required) {
+                return;
+            }
+        }
+
+        // copy the bytes of a request that straddles two buffers to the
+        // carry-over buffer
+        if (cur == buf) {
+            buf.compact();
+        } else {
+            buf.clear();
+            buf.put(cur);
+            recycle(cur);
+            cur = buf;
+        }
+
+        try {
+            while (buf.position() < required) {
+                ByteBuffer bb = next();
+                if (bb == null) {
+                    break;
+                }
+
+                int limit = bb.limit();
+                bb.limit(bb.position() + Math.min(required - buf.position(), bb.remaining()));
+                buf.put(bb);
+                bb.limit(limit);
+
+                // the rest of the buffer is consumed after the carry-over
+                if (bb.hasRemaining()) {
+                    head = bb;
+                } else {
+                    recycle(bb);
+                }
+            }
+        } finally {
+            buf.flip();
+        }
+    }
+
+    @Override
+    public void order(ByteOrder order) {
+        super.order(order);
+        cur.order(order);
+    }
+
+    @Override
+    public void fill() throws IOException {
+        advance(cur.remaining() + 1);
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+
+        if (!cur.hasRemaining()) {
+            advance(1);
+
+            if (!cur.hasRemaining()) {
+                checkError();
+                return -1;
+            }
+        }
+
+        return ByteBufferUtils.transfer(cur, dst);
+    }
+
+    @Override
+    public long read(ByteBuffer[] dsts) throws IOException {
+        // the channel is owned by the background task, so the destinations are
+        // filled from the prefetched buffers only
+        long n = 0;
+        for (ByteBuffer dst : dsts) {
+            while (dst.hasRemaining()) {
+                int r = read(dst);
+                if (r <= 0) {
+                    return n == 0 ? r : n;
+                }
+                n += r;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public ByteBuffer requestRead(int required) throws EOFException, IOException {
+        // check if additional bytes need to be buffered
+        if (cur.remaining() < required) {
+            advance(required);
+
+            // if there are still not enough bytes available, throw exception
+            if (cur.remaining() < required) {
+                checkError();
+                throw new EOFException();
+            }
+        }
+
+        return cur;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+
+        // wake up and stop the background task
+        free.offer(END);
+        if (thread != null) {
+            thread.interrupt();
+        }
+
+        super.close();
+    }
+}
@@ -9,11 +9,15 @@
  */
 package info.ata4.io.buffer.source;
 
+import info.ata4.io.buffer.ByteBufferPool;
+import info.ata4.io.buffer.ByteBufferUtils;
 import info.ata4.log.LogUtils;
 import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.ScatteringByteChannel;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -21,10 +25,15 @@ import java.util.logging.Logger;
  *
  * @author Nico Bergemann <barracuda415 at yahoo.de>
  */
-public class ReadableByteChannelSource extends ChannelSource<ReadableByteChannel> {
+public class ReadableByteChannelSource extends ChannelSource<ReadableByteChannel>
+        implements ScatteringSource {
     
     private static final Logger L = LogUtils.getLogger();
     
+    public ReadableByteChannelSource(ByteBuffer buf, ReadableByteChannel chan, ByteBufferPool pool) {
+        super(buf, chan, pool);
+    }
+    
     public ReadableByteChannelSource(ByteBuffer buf, ReadableByteChannel chan) {
         super(buf, chan);
     }
@@ -97,6 +106,56 @@ public class ReadableByteChannelSource extends ChannelSource<ReadableByteChannel
         return n;
     }
 
+    @Override
+    public long read(ByteBuffer[] dsts) throws IOException {
+        // use buffered bytes first
+        long n = 0;
+        long total = 0;
+        for (ByteBuffer dst : dsts) {
+            n += ByteBufferUtils.transfer(buf, dst);
+            total += dst.remaining();
+        }
+        
+        if (total == 0) {
+            return n;
+        }
+        
+        if (!(chan instanceof ScatteringByteChannel)) {
+            for (ByteBuffer dst : dsts) {
+                while (dst.hasRemaining()) {
+                    int r = read(dst);
+                    if (r <= 0) {
+                        return n == 0 ? r : n;
+                    }
+                    n += r;
+                }
+            }
+            return n;
+        }
+        
+        // read into all destinations and refill the buffer with the same call
+        ByteBuffer[] bufs = Arrays.copyOf(dsts, dsts.length + 1);
+        bufs[dsts.length] = buf;
+        
+        buf.clear();
+        
+        long read = 0;
+        long r = 0;
+        while (read < total && (r = ((ScatteringByteChannel) chan).read(bufs)) > 0) {
+            read += r;
+        }
+        
+        buf.flip();
+        
+        L.log(Level.FINEST, "read: {0} bytes read in {1} buffers",
+                new Object[] {read, bufs.length});
+        
+        // bytes beyond the destinations are now in the buffer
+        n += Math.min(read, total);
+        
+        return n == 0 && r < 0 ? -1 : n;
+    }
+
     @Override
     public int write(ByteBuffer src) throws IOException {
         throw new NonWritableSourceException();
@@ -122,9 +181,4 @@ public class ReadableByteChannelSource extends ChannelSource<ReadableByteChannel
     public ByteBuffer requestWrite(int required) throws EOFException, IOException {
         throw new NonWritableSourceException();
     }
-    
-    @Override
-    public void close() throws IOException {
-        chan.close();
-    }
 }
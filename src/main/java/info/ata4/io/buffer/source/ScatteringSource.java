@@ -0,0 +1,33 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer.source;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Buffered source that can read into a sequence of buffers at once, filling
+ * its own buffer with the remaining bytes.
+ * 
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public interface ScatteringSource extends BufferedSource {
+    
+    /**
+     * Reads contents of this source into a sequence of buffers. Behaves like
+     * {@link java.nio.channels.ScatteringByteChannel#read(java.nio.ByteBuffer[])}.
+     * 
+     * @param dsts destination buffers
+     * @return number of bytes read
+     * @throws IOException if there was a reading error
+     * @throws NonReadableSourceException if the source is not readable
+     */
+    public long read(ByteBuffer[] dsts) throws IOException;
+}
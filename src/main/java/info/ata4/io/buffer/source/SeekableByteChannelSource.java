@@ -9,6 +9,7 @@
  */
 package info.ata4.io.buffer.source;
 
+import info.ata4.io.buffer.ByteBufferPool;
 import info.ata4.io.channel.ChannelUtils;
 import info.ata4.log.LogUtils;
 import java.io.EOFException;
@@ -22,7 +23,8 @@ import java.util.logging.Logger;
  *
  * @author Nico Bergemann <barracuda415 at yahoo.de>
  */
-public class SeekableByteChannelSource extends ChannelSource<SeekableByteChannel> {
+public class SeekableByteChannelSource extends ChannelSource<SeekableByteChannel>
+        implements GatheringSource, ScatteringSource {
     
     private static final Logger L = LogUtils.getLogger();
     
@@ -31,8 +33,8 @@ public class SeekableByteChannelSource extends ChannelSource<SeekableByteChannel
 
     private boolean write;
 
-    public SeekableByteChannelSource(ByteBuffer buffer, SeekableByteChannel chan) {
-        super(buffer, chan);
+    public SeekableByteChannelSource(ByteBuffer buffer, SeekableByteChannel chan, ByteBufferPool pool) {
+        super(buffer, chan, pool);
            
         if (ChannelUtils.isReadable(chan)) {
             bufIn = new ReadableByteChannelSource(buffer, chan);
@@ -55,6 +57,10 @@ public class SeekableByteChannelSource extends ChannelSource<SeekableByteChannel
         write = bufIn == null;
     }
     
+    public SeekableByteChannelSource(ByteBuffer buffer, SeekableByteChannel chan) {
+        this(buffer, chan, null);
+    }
+    
     private void setRead() throws IOException {
         if (!canRead()) {
             throw new NonReadableSourceException();
@@ -144,6 +150,18 @@ public class SeekableByteChannelSource extends ChannelSource<SeekableByteChannel
         return bufOut.write(src);
     }
     
+    @Override
+    public long read(ByteBuffer[] dsts) throws IOException {
+        setRead();
+        return bufIn.read(dsts);
+    }
+    
+    @Override
+    public long write(ByteBuffer[] srcs) throws IOException {
+        setWrite();
+        return bufOut.write(srcs);
+    }
+    
     @Override
     public ByteBuffer requestRead(int required) throws EOFException, IOException {
         setRead();
@@ -190,6 +208,21 @@ public class SeekableByteChannelSource extends ChannelSource<SeekableByteChannel
         return Math.max(chan.size(), position());
     }
     
+    /**
+     * Writes pending bytes, discards buffered bytes and returns the channel
+     * for direct access, positioned at the current position of this source.
+     * 
+     * @return channel of this source
+     * @throws IOException if writing the pending bytes causes an error
+     */
+    public SeekableByteChannel channel() throws IOException {
+        long pos = position();
+        flush();
+        clear();
+        chan.position(pos);
+        return chan;
+    }
+    
     public void truncate(long size) throws IOException {
         flush();
         clear();
@@ -0,0 +1,274 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer.source;
+
+import info.ata4.io.buffer.ByteBufferPool;
+import info.ata4.io.buffer.ByteBufferPools;
+import info.ata4.io.buffer.ByteBufferUtils;
+import info.ata4.log.LogUtils;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Read-only source for a file channel that can be shared between threads.
+ *
+ * All reads use positional {@link FileChannel#read(ByteBuffer, long)} calls,
+ * so the position of the channel itself is never used. Every source has its
+ * own buffer and position and {@link #fork} creates additional sources for the
+ * same channel, which can be used concurrently without locking. {@link #slice}
+ * creates sources for a region of the file. The channel is closed once all
+ * sources have been closed.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class SharedFileChannelSource implements ForkableSource, SliceableSource {
+
+    private static final Logger L = LogUtils.getLogger();
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16; // 64 KiB
+
+    private final FileChannel fc;
+    private final AtomicInteger refs;
+    private final ByteBufferPool pool;
+    private final ByteBuffer buf;
+
+    // file offsets of the visible region
+    private final long base;
+    private final long end;
+
+    // file offset of the first byte in the buffer
+    private long bufPos;
+    private boolean closed;
+
+    private SharedFileChannelSource(FileChannel fc, AtomicInteger refs, int bufferSize, long base, long end, long pos, ByteOrder order) {
+        this.fc = fc;
+        this.refs = refs;
+        this.pool = ByteBufferPools.getDefault();
+        this.buf = pool.acquire(bufferSize);
+        this.buf.limit(0);
+        this.buf.order(order);
+        this.base = base;
+        this.end = end;
+        this.bufPos = pos;
+    }
+
+    public SharedFileChannelSource(FileChannel fc, int bufferSize) {
+        this(fc, new AtomicInteger(1), bufferSize, 0, Long.MAX_VALUE, 0, ByteOrder.BIG_ENDIAN);
+    }
+
+    public SharedFileChannelSource(FileChannel fc) {
+        this(fc, DEFAULT_BUFFER_SIZE);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Source is closed");
+        }
+    }
+
+    private void fill() throws IOException {
+        ensureOpen();
+
+        // keep remaining bytes and continue right after them
+        bufPos += buf.position();
+        buf.compact();
+
+        // don't read beyond the end of the region
+        buf.limit((int) Math.max(buf.position(), Math.min(buf.capacity(), end - bufPos)));
+
+        int start = buf.position();
+        while (buf.hasRemaining() && fc.read(buf, bufPos + buf.position()) > 0);
+
+        L.log(Level.FINEST, "fill: {0} bytes read at {1}",
+                new Object[] {buf.position() - start, bufPos + start});
+
+        buf.flip();
+    }
+
+    private void retain() throws IOException {
+        ensureOpen();
+
+        if (refs.getAndIncrement() <= 0) {
+            throw new IOException("Channel is closed");
+        }
+    }
+
+    @Override
+    public SharedFileChannelSource fork() throws IOException {
+        retain();
+        return new SharedFileChannelSource(fc, refs, buf.capacity(), base, end,
+                bufPos + buf.position(), order());
+    }
+
+    @Override
+    public SharedFileChannelSource slice(long offset, long length) throws IOException {
+        if (offset < 0 || length < 0 || offset > size() - length) {
+            throw new IllegalArgumentException();
+        }
+
+        retain();
+
+        long start = base + offset;
+        return new SharedFileChannelSource(fc, refs, buf.capacity(), start,
+                start + length, start, order());
+    }
+
+    @Override
+    public void position(long newPos) throws IOException {
+        if (newPos < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        newPos += base;
+
+        if (newPos >= bufPos && newPos <= bufPos + buf.limit()) {
+            buf.position((int) (newPos - bufPos));
+        } else {
+            buf.limit(0);
+            bufPos = newPos;
+        }
+    }
+
+    @Override
+    public long position() throws IOException {
+        return bufPos + buf.position() - base;
+    }
+
+    @Override
+    public long size() throws IOException {
+        return Math.min(fc.size(), end) - base;
+    }
+
+    @Override
+    public ByteOrder order() {
+        return buf.order();
+    }
+
+    @Override
+    public void order(ByteOrder order) {
+        buf.order(order);
+    }
+
+    @Override
+    public int bufferSize() {
+        return buf.capacity();
+    }
+
+    @Override
+    public boolean canRead() {
+        return true;
+    }
+
+    @Override
+    public boolean canWrite() {
+        return false;
+    }
+
+    @Override
+    public boolean canGrow() {
+        return false;
+    }
+
+    @Override
+    public boolean canSeek() {
+        return true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+
+        if (!buf.hasRemaining()) {
+            if (dst.remaining() > buf.capacity()) {
+                // dst buffer larger than internal buffer, read directly
+                ensureOpen();
+
+                long pos = bufPos + buf.position();
+                if (pos >= end) {
+                    return -1;
+                }
+
+                ByteBuffer bb = dst;
+                if (dst.remaining() > end - pos) {
+                    bb = dst.duplicate();
+                    bb.limit(bb.position() + (int) (end - pos));
+                }
+
+                int n = fc.read(bb, pos);
+                if (n > 0) {
+                    dst.position(dst.position() + n);
+                    position(pos + n - base);
+                }
+                return n;
+            }
+
+            fill();
+
+            if (!buf.hasRemaining()) {
+                return -1;
+            }
+        }
+
+        return ByteBufferUtils.transfer(buf, dst);
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        throw new NonWritableSourceException();
+    }
+
+    @Override
+    public ByteBuffer requestRead(int required) throws EOFException, IOException {
+        // check if additional bytes need to be buffered
+        if (buf.remaining() < required) {
+            fill();
+
+            // if there are still not enough bytes available, throw exception
+            if (buf.remaining() < required) {
+                throw new EOFException();
+            }
+        }
+
+        return buf;
+    }
+
+    @Override
+    public ByteBuffer requestWrite(int required) throws EOFException, IOException {
+        throw new NonWritableSourceException();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        pool.release(buf);
+
+        // close the channel when the last source has been closed
+        if (refs.decrementAndGet() == 0) {
+            fc.close();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer.source;
+
+import java.io.IOException;
+
+/**
+ * Buffered source that can create read-only views for a region of its data
+ * without copying it.
+ * 
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public interface SliceableSource extends BufferedSource {
+    
+    /**
+     * Creates a new source for a region of this source. Positions of the new
+     * source are relative to the start of the region and its size is the
+     * length of the region. The new source has its own position, uses the
+     * current byte order of this source and must be closed separately.
+     * 
+     * @param offset start of the region
+     * @param length length of the region
+     * @return new source
+     * @throws IOException if the source couldn't be created
+     * @throws IllegalArgumentException if the region is out of bounds
+     */
+    public SliceableSource slice(long offset, long length) throws IOException;
+}
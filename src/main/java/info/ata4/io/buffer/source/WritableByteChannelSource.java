@@ -9,10 +9,13 @@
  */
 package info.ata4.io.buffer.source;
 
+import info.ata4.io.buffer.ByteBufferPool;
+import info.ata4.io.buffer.ByteBufferUtils;
 import info.ata4.log.LogUtils;
 import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -21,10 +24,15 @@ import java.util.logging.Logger;
  *
  * @author Nico Bergemann <barracuda415 at yahoo.de>
  */
-public class WritableByteChannelSource extends ChannelSource<WritableByteChannel> {
+public class WritableByteChannelSource extends ChannelSource<WritableByteChannel>
+        implements GatheringSource {
     
     private static final Logger L = LogUtils.getLogger();
 
+    public WritableByteChannelSource(ByteBuffer buf, WritableByteChannel chan, ByteBufferPool pool) {
+        super(buf, chan, pool);
+    }
+
     public WritableByteChannelSource(ByteBuffer buf, WritableByteChannel chan) {
         super(buf, chan);
     }
@@ -57,13 +65,24 @@ public class WritableByteChannelSource extends ChannelSource<WritableByteChannel
         int start = buf.position();
         
         // write buffer to channel
-        while (chan.write(buf) > 0);
+        while (buf.hasRemaining() && chan.write(buf) > 0);
         
         L.log(Level.FINEST, "flush: {0} bytes written", buf.position() - start);
         
         buf.clear();
     }
     
+    /**
+     * Writes pending bytes and returns the channel for direct access.
+     * 
+     * @return channel of this source
+     * @throws IOException if writing the pending bytes causes an error
+     */
+    public WritableByteChannel channel() throws IOException {
+        flush();
+        return chan;
+    }
+    
     @Override
     public int read(ByteBuffer dst) throws IOException {
         throw new NonReadableSourceException();
@@ -93,6 +112,49 @@ public class WritableByteChannelSource extends ChannelSource<WritableByteChannel
         return n;
     }
     
+    @Override
+    public long write(ByteBuffer[] srcs) throws IOException {
+        long total = ByteBufferUtils.remaining(srcs);
+        
+        // small writes are simply buffered
+        if (total <= buf.remaining() || !(chan instanceof GatheringByteChannel)) {
+            long n = 0;
+            for (ByteBuffer src : srcs) {
+                while (src.hasRemaining()) {
+                    int r = write(src);
+                    if (r <= 0) {
+                        return n == 0 ? r : n;
+                    }
+                    n += r;
+                }
+            }
+            return n;
+        }
+        
+        // write pending bytes and all sources with one call
+        ByteBuffer[] bufs = new ByteBuffer[srcs.length + 1];
+        bufs[0] = buf;
+        System.arraycopy(srcs, 0, bufs, 1, srcs.length);
+        
+        buf.flip();
+        
+        int pending = buf.remaining();
+        long written = 0;
+        long n;
+        while (written < pending + total
+                && (n = ((GatheringByteChannel) chan).write(bufs)) > 0) {
+            written += n;
+        }
+        
+        L.log(Level.FINEST, "write: {0} bytes written in {1} buffers",
+                new Object[] {written, bufs.length});
+        
+        // keep bytes that couldn't be written
+        buf.compact();
+        
+        return Math.max(0, written - pending);
+    }
+    
     @Override
     public ByteBuffer requestRead(int required) throws EOFException, IOException {
         throw new NonReadableSourceException();
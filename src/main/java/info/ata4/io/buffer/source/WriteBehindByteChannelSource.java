@@ -0,0 +1,377 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.buffer.source;
+
+import info.ata4.io.buffer.ByteBufferUtils;
+import info.ata4.log.LogUtils;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writable channel source that writes full buffers in the background.
+ *
+ * Once the current buffer is full, it is handed to a background writer and the
+ * producer continues with a fresh buffer from a small pool. The producer only
+ * blocks if all buffers of the pool are still waiting to be written.
+ *
+ * {@link #flush} and {@link #close} wait until all pending buffers have been
+ * written to the channel. File channels are forced to the storage device
+ * afterwards, so the data is durable once they return. Errors in the
+ * background are reported by the next call to this source and all data
+ * submitted after the error is discarded.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class WriteBehindByteChannelSource implements BufferedSource {
+
+    private static final Logger L = LogUtils.getLogger();
+
+    public static final int DEFAULT_POOL_SIZE = 2;
+
+    // stops the background writer
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private final WritableByteChannel chan;
+    private final BlockingQueue<ByteBuffer> free;
+    private final BlockingQueue<ByteBuffer> pending = new LinkedBlockingQueue<>();
+    private final Object lock = new Object();
+
+    private ByteBuffer buf;
+    private ByteOrder order;
+    private int inFlight;
+    private boolean stopped;
+    private boolean closed;
+
+    private volatile Throwable error;
+
+    private WriteBehindByteChannelSource(ByteBuffer buf, WritableByteChannel chan, int poolSize, Executor executor, boolean ownThread) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Invalid pool size");
+        }
+
+        this.buf = buf;
+        this.buf.clear();
+        this.chan = chan;
+        this.order = buf.order();
+
+        // the current buffer may be returned to the pool before the producer
+        // takes the next one
+        free = new ArrayBlockingQueue<>(poolSize + 1);
+        for (int i = 0; i < poolSize; i++) {
+            if (buf.isDirect()) {
+                free.add(ByteBuffer.allocateDirect(buf.capacity()));
+            } else {
+                free.add(ByteBuffer.allocate(buf.capacity()));
+            }
+        }
+
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                writeBehind();
+            }
+        };
+
+        if (ownThread) {
+            Thread thread = new Thread(task, "WriteBehind");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            executor.execute(task);
+        }
+    }
+
+    /**
+     * Creates a new write-behind source that runs its background writer on the
+     * given executor. The writer occupies one executor thread until the source
+     * is closed.
+     *
+     * @param buf initial buffer
+     * @param chan destination channel
+     * @param poolSize number of additional buffers that can be filled while
+     *                 the writer is busy
+     * @param executor executor for the background writer
+     */
+    public WriteBehindByteChannelSource(ByteBuffer buf, WritableByteChannel chan, int poolSize, Executor executor) {
+        this(buf, chan, poolSize, executor, false);
+    }
+
+    /**
+     * Creates a new write-behind source with its own background thread.
+     *
+     * @param buf initial buffer
+     * @param chan destination channel
+     * @param poolSize number of additional buffers that can be filled while
+     *                 the writer is busy
+     */
+    public WriteBehindByteChannelSource(ByteBuffer buf, WritableByteChannel chan, int poolSize) {
+        this(buf, chan, poolSize, null, true);
+    }
+
+    public WriteBehindByteChannelSource(ByteBuffer buf, WritableByteChannel chan) {
+        this(buf, chan, DEFAULT_POOL_SIZE);
+    }
+
+    private void writeBehind() {
+        try {
+            while (true) {
+                ByteBuffer bb = pending.take();
+                if (bb == END) {
+                    break;
+                }
+
+                try {
+                    // discard everything after the first error
+                    if (error == null) {
+                        int start = bb.position();
+
+                        while (chan.write(bb) > 0);
+
+                        L.log(Level.FINEST, "writeBehind: {0} bytes written", bb.position() - start);
+
+                        if (bb.hasRemaining()) {
+                            throw new IOException("Channel didn't accept all bytes");
+                        }
+                    }
+                } catch (IOException | RuntimeException | Error ex) {
+                    error = ex;
+                } finally {
+                    bb.clear();
+                    free.add(bb);
+
+                    synchronized (lock) {
+                        inFlight--;
+                        lock.notifyAll();
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            error = new InterruptedIOException();
+        } finally {
+            stop();
+        }
+    }
+
+    /**
+     * Marks the writer as stopped and returns all buffers that are still
+     * pending, so the producer can't block on the pool.
+     */
+    private void stop() {
+        synchronized (lock) {
+            stopped = true;
+
+            if (error == null && !closed) {
+                error = new IOException("Writer stopped unexpectedly");
+            }
+
+            ByteBuffer bb;
+            while ((bb = pending.poll()) != null) {
+                if (bb != END) {
+                    bb.clear();
+                    free.add(bb);
+                }
+            }
+
+            inFlight = 0;
+            lock.notifyAll();
+        }
+    }
+
+    private void checkError() throws IOException {
+        if (error != null) {
+            throw new IOException("Write-behind failed", error);
+        }
+    }
+
+    private void submit() throws IOException {
+        checkError();
+
+        buf.flip();
+
+        if (!buf.hasRemaining()) {
+            buf.clear();
+            return;
+        }
+
+        synchronized (lock) {
+            if (stopped) {
+                checkError();
+                throw new IOException("Writer stopped");
+            }
+
+            inFlight++;
+            pending.add(buf);
+        }
+
+        // continue with the next free buffer, wait for the writer if there's
+        // none available
+        try {
+            buf = free.take();
+        } catch (InterruptedException ex) {
+            throw new InterruptedIOException();
+        }
+
+        buf.order(order);
+
+        checkError();
+    }
+
+    private void await() throws IOException {
+        synchronized (lock) {
+            while (inFlight > 0 && error == null && !stopped) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException ex) {
+                    throw new InterruptedIOException();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void position(long newPos) throws IOException {
+        throw new NonSeekableSourceException();
+    }
+
+    @Override
+    public long position() throws IOException {
+        throw new NonSeekableSourceException();
+    }
+
+    @Override
+    public long size() throws IOException {
+        throw new NonSeekableSourceException();
+    }
+
+    @Override
+    public ByteOrder order() {
+        return order;
+    }
+
+    @Override
+    public void order(ByteOrder order) {
+        this.order = order;
+        buf.order(order);
+    }
+
+    @Override
+    public int bufferSize() {
+        return buf.capacity();
+    }
+
+    @Override
+    public boolean canRead() {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite() {
+        return true;
+    }
+
+    @Override
+    public boolean canGrow() {
+        return true;
+    }
+
+    @Override
+    public boolean canSeek() {
+        return false;
+    }
+
+    /**
+     * Submits the current buffer and waits until all pending buffers have been
+     * written to the channel. File channels are forced afterwards, so the data
+     * is durable once this method returns.
+     *
+     * @throws IOException if writing the pending data caused an error
+     */
+    @Override
+    public void flush() throws IOException {
+        submit();
+        await();
+        checkError();
+
+        if (chan instanceof FileChannel && chan.isOpen()) {
+            ((FileChannel) chan).force(false);
+        }
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        throw new NonReadableSourceException();
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        checkError();
+
+        if (!buf.hasRemaining()) {
+            L.finest("write: buffer full");
+            submit();
+        }
+
+        return ByteBufferUtils.transfer(src, buf);
+    }
+
+    @Override
+    public ByteBuffer requestRead(int required) throws EOFException, IOException {
+        throw new NonReadableSourceException();
+    }
+
+    @Override
+    public ByteBuffer requestWrite(int required) throws EOFException, IOException {
+        checkError();
+
+        // check if additional bytes need to be buffered
+        if (buf.remaining() < required) {
+            submit();
+
+            // if there are still not enough bytes available, throw exception
+            if (buf.remaining() < required) {
+                throw new EOFException();
+            }
+        }
+
+        return buf;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            flush();
+        } finally {
+            // stop the writer and close the channel once it's idle
+            pending.add(END);
+            try {
+                await();
+            } finally {
+                chan.close();
+            }
+        }
+    }
+}
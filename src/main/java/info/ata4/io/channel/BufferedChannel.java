@@ -29,6 +29,19 @@ public abstract class BufferedChannel <C extends Channel, B extends BufferedSour
         this.buf = buf;
     }
 
+    /**
+     * Writes pending bytes and returns the wrapped channel for direct access.
+     * Bytes that were already read into the buffer are not available from the
+     * wrapped channel.
+     * 
+     * @return wrapped channel
+     * @throws IOException if writing the pending bytes causes an error
+     */
+    public C channel() throws IOException {
+        buf.flush();
+        return chan;
+    }
+
     @Override
     public boolean isOpen() {
         return chan.isOpen();
@@ -9,6 +9,8 @@
  */
 package info.ata4.io.channel;
 
+import info.ata4.io.buffer.ByteBufferPool;
+import info.ata4.io.buffer.ByteBufferPools;
 import info.ata4.io.buffer.source.ReadableByteChannelSource;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -24,8 +26,12 @@ public class BufferedReadableByteChannel
     
     public static final int DEFAULT_BUFFER_SIZE = 1 << 20; // 1 MiB
 
+    public BufferedReadableByteChannel(ReadableByteChannel in, int bufferSize, ByteBufferPool pool) {
+        super(in, new ReadableByteChannelSource(pool.acquire(bufferSize), in, pool));
+    }
+    
     public BufferedReadableByteChannel(ReadableByteChannel in, int bufferSize) {
-        super(in, new ReadableByteChannelSource(ByteBuffer.allocateDirect(bufferSize), in));
+        this(in, bufferSize, ByteBufferPools.getDefault());
     }
     
     public BufferedReadableByteChannel(ReadableByteChannel in) {
@@ -9,6 +9,8 @@
  */
 package info.ata4.io.channel;
 
+import info.ata4.io.buffer.ByteBufferPool;
+import info.ata4.io.buffer.ByteBufferPools;
 import info.ata4.io.buffer.source.SeekableByteChannelSource;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -24,14 +26,30 @@ public class BufferedSeekableByteChannel
     
     public static final int DEFAULT_BUFFER_SIZE = 1 << 20; // 64 KiB
     
+    public BufferedSeekableByteChannel(SeekableByteChannel chan, int bufferSize, ByteBufferPool pool) {
+        super(chan, new SeekableByteChannelSource(pool.acquire(bufferSize), chan, pool));
+    }
+    
     public BufferedSeekableByteChannel(SeekableByteChannel chan, int bufferSize) {
-        super(chan, new SeekableByteChannelSource(ByteBuffer.allocateDirect(bufferSize), chan));
+        this(chan, bufferSize, ByteBufferPools.getDefault());
     }
     
     public BufferedSeekableByteChannel(SeekableByteChannel chan) {
         this(chan, DEFAULT_BUFFER_SIZE);
     }
 
+    /**
+     * Writes pending bytes, discards buffered bytes and returns the wrapped
+     * channel, positioned at the current position of this channel.
+     * 
+     * @return wrapped channel
+     * @throws IOException if writing the pending bytes causes an error
+     */
+    @Override
+    public SeekableByteChannel channel() throws IOException {
+        return buf.channel();
+    }
+
     @Override
     public int read(ByteBuffer dst) throws IOException {
         return buf.read(dst);
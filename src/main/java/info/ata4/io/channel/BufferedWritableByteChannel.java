@@ -9,6 +9,8 @@
  */
 package info.ata4.io.channel;
 
+import info.ata4.io.buffer.ByteBufferPool;
+import info.ata4.io.buffer.ByteBufferPools;
 import info.ata4.io.buffer.source.WritableByteChannelSource;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -24,8 +26,12 @@ public class BufferedWritableByteChannel
     
     public static final int DEFAULT_BUFFER_SIZE = 1 << 20; // 1 MiB
     
+    public BufferedWritableByteChannel(WritableByteChannel out, int bufferSize, ByteBufferPool pool) {
+        super(out, new WritableByteChannelSource(pool.acquire(bufferSize), out, pool));
+    }
+    
     public BufferedWritableByteChannel(WritableByteChannel out, int bufferSize) {
-        super(out, new WritableByteChannelSource(ByteBuffer.allocateDirect(bufferSize), out));
+        this(out, bufferSize, ByteBufferPools.getDefault());
     }
     
     public BufferedWritableByteChannel(WritableByteChannel chan) {
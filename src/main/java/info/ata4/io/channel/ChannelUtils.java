@@ -57,6 +57,21 @@ public class ChannelUtils {
         }
     }
     
+    /**
+     * Returns the channel that is wrapped by one or more buffered channels,
+     * after writing their pending bytes. Other channels are returned as is.
+     * 
+     * @param c channel
+     * @return innermost channel
+     * @throws IOException if writing the pending bytes causes an error
+     */
+    public static Channel unwrap(Channel c) throws IOException {
+        while (c instanceof BufferedChannel) {
+            c = ((BufferedChannel<?, ?>) c).channel();
+        }
+        return c;
+    }
+    
     private ChannelUtils() {
     }
 }
@@ -0,0 +1,32 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.struct;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Inserts padding bytes before a field so that it starts at a multiple of the
+ * given alignment. On a class, the total size is padded instead.
+ *
+ * Fixed-size structs are aligned relative to their start, like C structs.
+ * Structs with variable size are aligned to absolute positions with
+ * {@link info.ata4.io.DataBridge#align}.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({ElementType.TYPE, ElementType.FIELD})
+public @interface Align {
+    
+    int value();
+}
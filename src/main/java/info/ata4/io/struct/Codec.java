@@ -0,0 +1,36 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.struct;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link info.ata4.io.Struct} class for code generation by the codec
+ * processor of the ioutils-processor module.
+ *
+ * The processor creates a class named {@code <Name>Codec} in the same package
+ * with static {@code read} and {@code write} methods for all non-static,
+ * non-transient fields in declaration order. The fields must not be private or
+ * final. If all fields have a fixed size, the codec also declares a constant
+ * {@code SIZEOF} and transfers the whole record with a single buffer request.
+ *
+ * Supported field types are all primitives except {@code char}, arrays of
+ * these and strings with {@link Fixed}, null-terminated strings and nested
+ * structs, which must be initialized before reading.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Codec {
+}
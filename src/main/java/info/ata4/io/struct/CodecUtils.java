@@ -0,0 +1,67 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.struct;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Helper methods for generated struct codecs.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class CodecUtils {
+    
+    private CodecUtils() {
+    }
+    
+    /**
+     * Reads a null-padded ASCII string with a fixed length, like
+     * {@link info.ata4.io.DataReader#readStringFixed(int)}.
+     * 
+     * @param bb source buffer
+     * @param length string length in bytes
+     * @return string
+     */
+    public static String getStringFixed(ByteBuffer bb, int length) {
+        byte[] raw = new byte[length];
+        bb.get(raw);
+        
+        int end = 0;
+        while (end < raw.length && raw[end] != 0) {
+            end++;
+        }
+        
+        return new String(raw, 0, end, StandardCharsets.US_ASCII);
+    }
+    
+    /**
+     * Encodes a string as null-padded ASCII string with a fixed length. Longer
+     * strings are truncated.
+     * 
+     * @param str string
+     * @param length string length in bytes
+     * @return encoded string
+     */
+    public static byte[] toStringFixed(String str, int length) {
+        return Arrays.copyOf(str.getBytes(StandardCharsets.US_ASCII), length);
+    }
+    
+    public static void putStringFixed(ByteBuffer bb, String str, int length) {
+        bb.put(toStringFixed(str, length));
+    }
+    
+    public static void putZeros(ByteBuffer bb, int length) {
+        for (int i = 0; i < length; i++) {
+            bb.put((byte) 0);
+        }
+    }
+}
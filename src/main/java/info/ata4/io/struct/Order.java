@@ -0,0 +1,32 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.struct;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the byte order of a field or of all fields of a class, regardless of
+ * the byte order of the reader or writer.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({ElementType.TYPE, ElementType.FIELD})
+public @interface Order {
+    
+    Endian value();
+    
+    public enum Endian {
+        BIG, LITTLE
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Character sequence view over a region of a byte buffer, with one character
+ * per byte in the ISO-8859-1 character set, which includes ASCII.
+ *
+ * A view can be rebound to different regions, so it can be used as a reusable
+ * holder for strings that are only compared or hashed. The hash code is the
+ * same as the one of the equivalent {@link String}. Since the content of a view
+ * changes when it's rebound or when the underlying buffer is modified, use
+ * {@link #copy()} for views that are stored in collections.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class ByteString implements CharSequence, Comparable<CharSequence> {
+
+    private ByteBuffer bb;
+    private int offset;
+    private int length;
+
+    public ByteString() {
+        this(ByteBuffer.allocate(0), 0, 0);
+    }
+
+    public ByteString(byte[] b) {
+        this(ByteBuffer.wrap(b), 0, b.length);
+    }
+
+    public ByteString(ByteBuffer bb, int offset, int length) {
+        bind(bb, offset, length);
+    }
+
+    /**
+     * Binds this view to a region of a buffer. The position and limit of the
+     * buffer are not used or changed.
+     *
+     * @param bb buffer
+     * @param offset absolute offset of the region
+     * @param length length of the region
+     * @return this view
+     * @throws IndexOutOfBoundsException if the region exceeds the buffer limit
+     */
+    public ByteString bind(ByteBuffer bb, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > bb.limit() - length) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        this.bb = bb;
+        this.offset = offset;
+        this.length = length;
+
+        return this;
+    }
+
+    public ByteBuffer buffer() {
+        return bb;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    public byte byteAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException();
+        }
+        return bb.get(offset + index);
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (byteAt(index) & 0xff);
+    }
+
+    /**
+     * Returns a view for a part of this view that shares the same buffer.
+     *
+     * @param start start index, inclusive
+     * @param end end index, exclusive
+     * @return new view
+     */
+    @Override
+    public ByteString subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException();
+        }
+        return new ByteString(bb, offset + start, end - start);
+    }
+
+    /**
+     * Returns a copy of this view that doesn't depend on the current buffer.
+     *
+     * @return new view with its own byte array
+     */
+    public ByteString copy() {
+        return new ByteString(toByteArray());
+    }
+
+    public byte[] toByteArray() {
+        byte[] b = new byte[length];
+        for (int i = 0; i < length; i++) {
+            b[i] = bb.get(offset + i);
+        }
+        return b;
+    }
+
+    /**
+     * Checks if the content of this view equals a character sequence, without
+     * creating a string.
+     *
+     * @param cs character sequence
+     * @return true if both have the same characters
+     */
+    public boolean contentEquals(CharSequence cs) {
+        if (cs.length() != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if ((bb.get(offset + i) & 0xff) != cs.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Compares this view lexicographically to a character sequence, like
+     * {@link String#compareTo}.
+     *
+     * @param cs character sequence
+     * @return the difference of the first different characters or the
+     *         difference of the lengths
+     */
+    @Override
+    public int compareTo(CharSequence cs) {
+        int n = Math.min(length, cs.length());
+
+        for (int i = 0; i < n; i++) {
+            int diff = (bb.get(offset + i) & 0xff) - cs.charAt(i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+
+        return length - cs.length();
+    }
+
+    /**
+     * Checks if an object is a byte string with the same content. Use
+     * {@link #contentEquals} to compare with strings.
+     *
+     * @param obj object to compare
+     * @return true if the object is an equal byte string
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+
+        if (!(obj instanceof ByteString)) {
+            return false;
+        }
+
+        ByteString that = (ByteString) obj;
+        if (that.length != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (bb.get(offset + i) != that.bb.get(that.offset + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // same as String.hashCode()
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + (bb.get(offset + i) & 0xff);
+        }
+        return h;
+    }
+
+    /**
+     * Decodes the bytes with the given character set.
+     *
+     * @param charset character set
+     * @return decoded string
+     */
+    public String toString(Charset charset) {
+        return new String(toByteArray(), charset);
+    }
+
+    @Override
+    public String toString() {
+        return toString(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+/**
+ * Thread-safe pool for deflaters, which avoids allocating and freeing the
+ * native zlib state for every compressed section.
+ * 
+ * The number of pooled deflaters is limited; deflaters that are released when
+ * the limit has been reached are ended immediately.
+ * 
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class DeflaterPool {
+    
+    public static final int DEFAULT_MAX_POOLED = 16;
+    
+    private static final DeflaterPool ZLIB = new DeflaterPool(false, DEFAULT_MAX_POOLED);
+    private static final DeflaterPool RAW = new DeflaterPool(true, DEFAULT_MAX_POOLED);
+    
+    /**
+     * Returns the shared pool for zlib streams or raw deflate streams.
+     * 
+     * @param nowrap if true, the deflaters write raw deflate streams without
+     *               zlib header and checksum
+     * @return deflater pool
+     */
+    public static DeflaterPool getDefault(boolean nowrap) {
+        return nowrap ? RAW : ZLIB;
+    }
+    
+    private final boolean nowrap;
+    private final int maxPooled;
+    private final Queue<Deflater> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    
+    public DeflaterPool(boolean nowrap, int maxPooled) {
+        if (maxPooled < 0) {
+            throw new IllegalArgumentException();
+        }
+        
+        this.nowrap = nowrap;
+        this.maxPooled = maxPooled;
+    }
+    
+    public boolean nowrap() {
+        return nowrap;
+    }
+    
+    /**
+     * Returns a reset deflater with the default strategy.
+     * 
+     * @param level compression level from 0 to 9 or
+     *              {@link Deflater#DEFAULT_COMPRESSION}
+     * @return deflater
+     */
+    public Deflater acquire(int level) {
+        Deflater deflater = free.poll();
+        if (deflater == null) {
+            return new Deflater(level, nowrap);
+        }
+        
+        pooled.decrementAndGet();
+        
+        // takes effect immediately, since there's no pending input
+        deflater.setLevel(level);
+        return deflater;
+    }
+    
+    /**
+     * Returns a deflater to the pool. The deflater must not be used by the
+     * caller afterwards.
+     * 
+     * @param deflater deflater previously returned by {@link #acquire}
+     */
+    public void release(Deflater deflater) {
+        if (pooled.incrementAndGet() > maxPooled) {
+            pooled.decrementAndGet();
+            deflater.end();
+            return;
+        }
+        
+        deflater.reset();
+        deflater.setStrategy(Deflater.DEFAULT_STRATEGY);
+        free.offer(deflater);
+    }
+}
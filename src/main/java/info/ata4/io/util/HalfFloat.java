@@ -9,20 +9,163 @@
  */
 package info.ata4.io.util;
 
+import java.nio.BufferOverflowException;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
 /**
  * Utility class to convert half-precision 16 bit floating-point number according
  * to IEEE 754-2008.
  * 
  * Based on http://stackoverflow.com/a/6162687
  * 
+ * The conversions are table-driven and return exactly the same results as the
+ * scalar reference implementations.
+ * 
  * @author Nico Bergemann <barracuda415 at yahoo.de>
  */
 public class HalfFloat {
     
+    // tables are only created when first used
+    private static class Tables {
+        
+        // all 2^16 half floats
+        private static final float[] FLOATS = new float[1 << 16];
+        
+        // indexed by the sign and exponent bits of a float
+        private static final int[] BASE = new int[1 << 9];
+        private static final int[] ROUND = new int[1 << 9];
+        private static final byte[] SHIFT = new byte[1 << 9];
+        
+        static {
+            for (int i = 0; i < FLOATS.length; i++) {
+                FLOATS[i] = intBitsToFloatScalar(i);
+            }
+            
+            for (int i = 0; i < BASE.length; i++) {
+                int sign = (i & 0x100) << 7;
+                int exp = i & 0xff;
+                int base;
+                int round;
+                int shift;
+                
+                if (exp >= EXP_SCALAR) {
+                    // handled by the scalar code
+                    base = 0;
+                    round = 0;
+                    shift = 0;
+                } else if (exp >= 113) {
+                    // normalized, the implicit bit adds one to the exponent
+                    base = (exp - 113) << 10;
+                    round = 0x1000;
+                    shift = 13;
+                } else if (exp >= 102) {
+                    // subnormal
+                    base = 0;
+                    shift = 126 - exp;
+                    round = 1 << (shift - 1);
+                } else {
+                    // too small, becomes +/-0
+                    base = 0;
+                    round = 0;
+                    shift = 24;
+                }
+                
+                BASE[i] = sign | base;
+                ROUND[i] = round;
+                SHIFT[i] = (byte) shift;
+            }
+        }
+    }
+    
+    // floats with this or a higher exponent may become Inf or NaN
+    private static final int EXP_SCALAR = 142;
+    
     private HalfFloat() {
     }
     
     public static float intBitsToFloat(int hbits) {
+        return Tables.FLOATS[hbits & 0xffff];
+    }
+    
+    public static int floatToIntBits(float fval) {
+        int fbits = Float.floatToIntBits(fval);
+        int index = fbits >>> 23;
+        if ((index & 0xff) >= EXP_SCALAR) {
+            return floatToIntBitsScalar(fval);
+        }
+        return Tables.BASE[index]
+                + ((fbits & 0x7fffff | 0x800000) + Tables.ROUND[index]
+                >>> Tables.SHIFT[index]);
+    }
+    
+    /**
+     * Converts half floats to floats.
+     * 
+     * @param src half float bits
+     * @param srcOff offset in src
+     * @param dst floats
+     * @param dstOff offset in dst
+     * @param len number of values
+     */
+    public static void decode(short[] src, int srcOff, float[] dst, int dstOff, int len) {
+        checkBounds(src.length, srcOff, len);
+        checkBounds(dst.length, dstOff, len);
+        float[] floats = Tables.FLOATS;
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = floats[src[srcOff + i] & 0xffff];
+        }
+    }
+    
+    public static void decode(ShortBuffer src, FloatBuffer dst) {
+        if (src.remaining() > dst.remaining()) {
+            throw new BufferOverflowException();
+        }
+        float[] floats = Tables.FLOATS;
+        while (src.hasRemaining()) {
+            dst.put(floats[src.get() & 0xffff]);
+        }
+    }
+    
+    /**
+     * Converts floats to half floats.
+     * 
+     * @param src floats
+     * @param srcOff offset in src
+     * @param dst half float bits
+     * @param dstOff offset in dst
+     * @param len number of values
+     */
+    public static void encode(float[] src, int srcOff, short[] dst, int dstOff, int len) {
+        checkBounds(src.length, srcOff, len);
+        checkBounds(dst.length, dstOff, len);
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = (short) floatToIntBits(src[srcOff + i]);
+        }
+    }
+    
+    public static void encode(FloatBuffer src, ShortBuffer dst) {
+        if (src.remaining() > dst.remaining()) {
+            throw new BufferOverflowException();
+        }
+        while (src.hasRemaining()) {
+            dst.put((short) floatToIntBits(src.get()));
+        }
+    }
+    
+    private static void checkBounds(int size, int off, int len) {
+        if ((off | len | (off + len) | (size - (off + len))) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+    
+    /**
+     * Reference implementation of {@link #intBitsToFloat} without tables.
+     * 
+     * @param hbits half float bits
+     * @return float
+     */
+    public static float intBitsToFloatScalar(int hbits) {
         int mant = hbits & 0x03ff;          // 10 bits mantissa
         int exp = hbits & 0x7c00;           // 5 bits exponent
         if (exp == 0x7c00) {                // NaN/Inf
@@ -46,7 +189,13 @@ public class HalfFloat {
                 | (exp | mant) << 13);      // value << ( 23 - 10 )
     }
 
-    public static int floatToIntBits(float fval) {
+    /**
+     * Reference implementation of {@link #floatToIntBits} without tables.
+     * 
+     * @param fval float
+     * @return half float bits
+     */
+    public static int floatToIntBitsScalar(float fval) {
         int fbits = Float.floatToIntBits(fval);
         int sign = fbits >>> 16 & 0x8000;           // sign only
         int val = (fbits & 0x7fffffff) + 0x1000;    // rounded value
@@ -0,0 +1,93 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Inflater;
+
+/**
+ * Thread-safe pool for inflaters, which avoids allocating and freeing the
+ * native zlib state for every compressed section.
+ * 
+ * The number of pooled inflaters is limited; inflaters that are released when
+ * the limit has been reached are ended immediately.
+ * 
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class InflaterPool {
+    
+    public static final int DEFAULT_MAX_POOLED = 16;
+    
+    private static final InflaterPool ZLIB = new InflaterPool(false, DEFAULT_MAX_POOLED);
+    private static final InflaterPool RAW = new InflaterPool(true, DEFAULT_MAX_POOLED);
+    
+    /**
+     * Returns the shared pool for zlib streams or raw deflate streams.
+     * 
+     * @param nowrap if true, the inflaters read raw deflate streams without
+     *               zlib header and checksum
+     * @return inflater pool
+     */
+    public static InflaterPool getDefault(boolean nowrap) {
+        return nowrap ? RAW : ZLIB;
+    }
+    
+    private final boolean nowrap;
+    private final int maxPooled;
+    private final Queue<Inflater> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    
+    public InflaterPool(boolean nowrap, int maxPooled) {
+        if (maxPooled < 0) {
+            throw new IllegalArgumentException();
+        }
+        
+        this.nowrap = nowrap;
+        this.maxPooled = maxPooled;
+    }
+    
+    public boolean nowrap() {
+        return nowrap;
+    }
+    
+    /**
+     * Returns a reset inflater.
+     * 
+     * @return inflater
+     */
+    public Inflater acquire() {
+        Inflater inflater = free.poll();
+        if (inflater == null) {
+            return new Inflater(nowrap);
+        }
+        
+        pooled.decrementAndGet();
+        return inflater;
+    }
+    
+    /**
+     * Returns an inflater to the pool. The inflater must not be used by the
+     * caller afterwards.
+     * 
+     * @param inflater inflater previously returned by {@link #acquire}
+     */
+    public void release(Inflater inflater) {
+        if (pooled.incrementAndGet() > maxPooled) {
+            pooled.decrementAndGet();
+            inflater.end();
+            return;
+        }
+        
+        inflater.reset();
+        free.offer(inflater);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Bounded cache that maps raw string bytes to decoded strings.
+ *
+ * The cache is a direct-mapped table indexed by a hash of the bytes, so a new
+ * string simply replaces the entry in its slot. Lookups compare the bytes with
+ * the stored copy and don't allocate anything. Strings longer than the maximum
+ * length are never cached.
+ *
+ * This class is not thread-safe.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class StringCache {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final int DEFAULT_MAX_LENGTH = 256;
+
+    private static class Entry {
+
+        private final byte[] raw;
+        private final int hash;
+        private final Charset charset;
+        private final String value;
+
+        private Entry(byte[] raw, int hash, Charset charset, String value) {
+            this.raw = raw;
+            this.hash = hash;
+            this.charset = charset;
+            this.value = value;
+        }
+    }
+
+    private final Entry[] table;
+    private final int mask;
+    private final int maxLength;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a new string cache.
+     *
+     * @param capacity number of table slots, rounded up to a power of two
+     * @param maxLength maximum length of cached strings in bytes
+     */
+    public StringCache(int capacity, int maxLength) {
+        if (capacity <= 0 || capacity > 1 << 30 || maxLength < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+
+        table = new Entry[size];
+        mask = size - 1;
+        this.maxLength = maxLength;
+    }
+
+    public StringCache() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+    }
+
+    private static int hash(ByteBuffer bb, int from, int to) {
+        int h = 1;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + bb.get(i);
+        }
+        // spread higher bits to the lower bits used for the index
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean equals(byte[] raw, ByteBuffer bb, int from) {
+        for (int i = 0; i < raw.length; i++) {
+            if (raw[i] != bb.get(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the cached string for the remaining bytes of a buffer. The
+     * position of the buffer is not changed.
+     *
+     * @param bb buffer with the raw string bytes between position and limit
+     * @param charset character set the string was decoded with
+     * @return cached string or null if the bytes are not in the cache
+     */
+    public String get(ByteBuffer bb, Charset charset) {
+        int from = bb.position();
+        int to = bb.limit();
+        int len = to - from;
+
+        if (len > maxLength) {
+            return null;
+        }
+
+        int hash = hash(bb, from, to);
+        Entry e = table[hash & mask];
+
+        if (e != null && e.hash == hash && e.raw.length == len
+                && e.charset.equals(charset) && equals(e.raw, bb, from)) {
+            hits++;
+            return e.value;
+        }
+
+        misses++;
+        return null;
+    }
+
+    /**
+     * Adds a decoded string to the cache, replacing any previous entry in its
+     * slot. The position of the buffer is not changed.
+     *
+     * @param bb buffer with the raw string bytes between position and limit
+     * @param charset character set the string was decoded with
+     * @param value decoded string
+     */
+    public void put(ByteBuffer bb, Charset charset, String value) {
+        int from = bb.position();
+        int to = bb.limit();
+        int len = to - from;
+
+        if (len > maxLength) {
+            return;
+        }
+
+        byte[] raw = new byte[len];
+        for (int i = 0; i < len; i++) {
+            raw[i] = bb.get(from + i);
+        }
+
+        int hash = hash(bb, from, to);
+        table[hash & mask] = new Entry(raw, hash, charset, value);
+    }
+
+    public int capacity() {
+        return table.length;
+    }
+
+    public int maxLength() {
+        return maxLength;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * Returns the ratio of lookups that were served from the cache.
+     *
+     * @return hit rate between 0 and 1 or 0 if there were no lookups yet
+     */
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : hits / (double) total;
+    }
+
+    /**
+     * Removes all entries and resets the statistics.
+     */
+    public void clear() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = null;
+        }
+        hits = 0;
+        misses = 0;
+    }
+}
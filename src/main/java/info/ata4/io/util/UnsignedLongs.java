@@ -0,0 +1,145 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.io.util;
+
+import java.math.BigInteger;
+
+/**
+ * Utility class for 64 bit unsigned numbers that are stored in the bits of a
+ * long.
+ *
+ * Addition, subtraction and multiplication work the same for signed and
+ * unsigned numbers, so only the operations that differ are provided here.
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class UnsignedLongs {
+
+    private static final BigInteger TWO_COMPL_REF = BigInteger.ONE.shiftLeft(Long.SIZE);
+
+    public static final long MAX_VALUE = -1L;
+
+    private UnsignedLongs() {
+    }
+
+    public static int compare(long a, long b) {
+        // flipping the sign bit maps the unsigned order to the signed order
+        return Long.compare(a ^ Long.MIN_VALUE, b ^ Long.MIN_VALUE);
+    }
+
+    public static long divide(long dividend, long divisor) {
+        if (divisor < 0) {
+            // divisor is at least 2^63, so the quotient is either 0 or 1
+            return compare(dividend, divisor) < 0 ? 0 : 1;
+        }
+
+        if (dividend >= 0) {
+            return dividend / divisor;
+        }
+
+        // the quotient of the halved dividend is off by at most one
+        long quotient = ((dividend >>> 1) / divisor) << 1;
+        long rem = dividend - quotient * divisor;
+        return quotient + (compare(rem, divisor) >= 0 ? 1 : 0);
+    }
+
+    public static long remainder(long dividend, long divisor) {
+        if (divisor < 0) {
+            return compare(dividend, divisor) < 0 ? dividend : dividend - divisor;
+        }
+
+        if (dividend >= 0) {
+            return dividend % divisor;
+        }
+
+        long quotient = ((dividend >>> 1) / divisor) << 1;
+        long rem = dividend - quotient * divisor;
+        return rem - (compare(rem, divisor) >= 0 ? divisor : 0);
+    }
+
+    /**
+     * Checks if an unsigned number also fits into a signed long, which is
+     * required for positions and sizes.
+     *
+     * @param v unsigned number
+     * @return the unchanged number
+     * @throws ArithmeticException if the number is larger than Long.MAX_VALUE
+     */
+    public static long checkedSigned(long v) {
+        if (v < 0) {
+            throw new ArithmeticException("Unsigned value out of range: " + toString(v));
+        }
+        return v;
+    }
+
+    /**
+     * Checks if an unsigned number fits into a signed int, which is required for
+     * array and buffer indices.
+     *
+     * @param v unsigned number
+     * @return number as int
+     * @throws ArithmeticException if the number is larger than Integer.MAX_VALUE
+     */
+    public static int checkedInt(long v) {
+        if (v < 0 || v > Integer.MAX_VALUE) {
+            throw new ArithmeticException("Unsigned value out of range: " + toString(v));
+        }
+        return (int) v;
+    }
+
+    public static String toString(long v) {
+        if (v >= 0) {
+            return Long.toString(v);
+        }
+
+        // divide by 10 unsigned, then append the last digit
+        long quotient = (v >>> 1) / 5;
+        long rem = v - quotient * 10;
+        return Long.toString(quotient) + rem;
+    }
+
+    /**
+     * Parses a decimal unsigned number.
+     *
+     * @param s string
+     * @return unsigned number
+     * @throws NumberFormatException if the string is not a number between 0 and
+     *         2^64-1
+     */
+    public static long parse(String s) {
+        try {
+            return valueOf(new BigInteger(s));
+        } catch (IllegalArgumentException ex) {
+            throw new NumberFormatException("Invalid unsigned long: " + s);
+        }
+    }
+
+    public static BigInteger toBigInteger(long v) {
+        BigInteger b = BigInteger.valueOf(v);
+        if (v < 0) {
+            b = b.add(TWO_COMPL_REF);
+        }
+        return b;
+    }
+
+    /**
+     * Converts a BigInteger to an unsigned number.
+     *
+     * @param b number between 0 and 2^64-1
+     * @return unsigned number
+     * @throws IllegalArgumentException if the number is out of range
+     */
+    public static long valueOf(BigInteger b) {
+        if (b.signum() < 0 || b.bitLength() > Long.SIZE) {
+            throw new IllegalArgumentException("Unsigned value out of range: " + b);
+        }
+        return b.longValue();
+    }
+}
@@ -13,10 +13,22 @@ import info.ata4.io.DataReader;
 import info.ata4.io.DataReaders;
 import info.ata4.io.DataWriter;
 import info.ata4.io.DataWriters;
+import info.ata4.io.buffer.source.ReadableByteChannelSource;
+import info.ata4.io.buffer.source.WritableByteChannelSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -268,6 +280,347 @@ public class DataIOTest {
         }
     }
     
+    @Test
+    public void testShorts() throws IOException {
+        for (int i = 0; i < TEST_CYCLES; i++) {
+            short[] value = new short[BUFFER_SIZE / 2];
+            out.position(0);
+            for (int j = 0; j < value.length; j++) {
+                value[j] = (short) (r.nextInt() & 0xffff);
+                out.writeShort(value[j]);
+            }
+            
+            short[] valueRead = new short[value.length];
+            in.position(0);
+            in.readShorts(valueRead);
+            assertArrayEquals(value, valueRead);
+            
+            ShortBuffer valueBuf = ShortBuffer.allocate(value.length);
+            in.position(0);
+            in.readShorts(valueBuf);
+            assertArrayEquals(value, valueBuf.array());
+        }
+    }
+    
+    @Test
+    public void testInts() throws IOException {
+        for (int i = 0; i < TEST_CYCLES; i++) {
+            int[] value = new int[BUFFER_SIZE / 4];
+            out.position(0);
+            for (int j = 0; j < value.length; j++) {
+                value[j] = r.nextInt();
+                out.writeInt(value[j]);
+            }
+            
+            int[] valueRead = new int[value.length];
+            in.position(0);
+            in.readInts(valueRead);
+            assertArrayEquals(value, valueRead);
+            
+            IntBuffer valueBuf = IntBuffer.allocate(value.length);
+            in.position(0);
+            in.readInts(valueBuf);
+            assertArrayEquals(value, valueBuf.array());
+        }
+    }
+    
+    @Test
+    public void testLongs() throws IOException {
+        for (int i = 0; i < TEST_CYCLES; i++) {
+            long[] value = new long[BUFFER_SIZE / 8];
+            out.position(0);
+            for (int j = 0; j < value.length; j++) {
+                value[j] = r.nextLong();
+                out.writeLong(value[j]);
+            }
+            
+            long[] valueRead = new long[value.length];
+            in.position(0);
+            in.readLongs(valueRead);
+            assertArrayEquals(value, valueRead);
+            
+            LongBuffer valueBuf = LongBuffer.allocate(value.length);
+            in.position(0);
+            in.readLongs(valueBuf);
+            assertArrayEquals(value, valueBuf.array());
+        }
+    }
+    
+    @Test
+    public void testFloats() throws IOException {
+        for (int i = 0; i < TEST_CYCLES; i++) {
+            float[] value = new float[BUFFER_SIZE / 4];
+            out.position(0);
+            for (int j = 0; j < value.length; j++) {
+                value[j] = r.nextFloat();
+                out.writeFloat(value[j]);
+            }
+            
+            float[] valueRead = new float[value.length];
+            in.position(0);
+            in.readFloats(valueRead);
+            assertArrayEquals(value, valueRead, 0);
+            
+            FloatBuffer valueBuf = FloatBuffer.allocate(value.length);
+            in.position(0);
+            in.readFloats(valueBuf);
+            assertArrayEquals(value, valueBuf.array(), 0);
+        }
+    }
+    
+    @Test
+    public void testDoubles() throws IOException {
+        for (int i = 0; i < TEST_CYCLES; i++) {
+            double[] value = new double[BUFFER_SIZE / 8];
+            out.position(0);
+            for (int j = 0; j < value.length; j++) {
+                value[j] = r.nextDouble();
+                out.writeDouble(value[j]);
+            }
+            
+            double[] valueRead = new double[value.length];
+            in.position(0);
+            in.readDoubles(valueRead);
+            assertArrayEquals(value, valueRead, 0);
+            
+            DoubleBuffer valueBuf = DoubleBuffer.allocate(value.length);
+            in.position(0);
+            in.readDoubles(valueBuf);
+            assertArrayEquals(value, valueBuf.array(), 0);
+        }
+    }
+    
+    @Test
+    public void testIntsBufferBoundary() throws IOException {
+        // use a channel source with a buffer size that isn't a multiple of the
+        // element size to force refills in the middle of an element
+        int[] value = new int[BUFFER_SIZE];
+        ByteBuffer bb = ByteBuffer.allocate(value.length * 4).order(buf.order());
+        for (int j = 0; j < value.length; j++) {
+            value[j] = r.nextInt();
+            bb.putInt(value[j]);
+        }
+        
+        ReadableByteChannel chan = Channels.newChannel(new ByteArrayInputStream(bb.array()));
+        DataReader inChan = new DataReader(new ReadableByteChannelSource(ByteBuffer.allocate(30), chan));
+        inChan.order(buf.order());
+        
+        int[] valueRead = new int[value.length];
+        inChan.readInts(valueRead, 0, 3);
+        inChan.readInts(valueRead, 3, value.length - 3);
+        assertArrayEquals(value, valueRead);
+    }
+    
+    @Test
+    public void testWriteShorts() throws IOException {
+        for (int i = 0; i < TEST_CYCLES; i++) {
+            short[] value = new short[BUFFER_SIZE / 2];
+            for (int j = 0; j < value.length; j++) {
+                value[j] = (short) (r.nextInt() & 0xffff);
+            }
+            
+            out.position(0);
+            out.writeShorts(value, 0, 5);
+            out.writeShorts(ShortBuffer.wrap(value, 5, value.length - 5));
+            
+            in.position(0);
+            for (int j = 0; j < value.length; j++) {
+                assertEquals(value[j], in.readShort());
+            }
+        }
+    }
+    
+    @Test
+    public void testWriteInts() throws IOException {
+        for (int i = 0; i < TEST_CYCLES; i++) {
+            int[] value = new int[BUFFER_SIZE / 4];
+            for (int j = 0; j < value.length; j++) {
+                value[j] = r.nextInt();
+            }
+            
+            out.position(0);
+            out.writeInts(value, 0, 5);
+            out.writeInts(IntBuffer.wrap(value, 5, value.length - 5));
+            
+            in.position(0);
+            for (int j = 0; j < value.length; j++) {
+                assertEquals(value[j], in.readInt());
+            }
+        }
+    }
+    
+    @Test
+    public void testWriteLongs() throws IOException {
+        for (int i = 0; i < TEST_CYCLES; i++) {
+            long[] value = new long[BUFFER_SIZE / 8];
+            for (int j = 0; j < value.length; j++) {
+                value[j] = r.nextLong();
+            }
+            
+            out.position(0);
+            out.writeLongs(value, 0, 5);
+            out.writeLongs(LongBuffer.wrap(value, 5, value.length - 5));
+            
+            in.position(0);
+            for (int j = 0; j < value.length; j++) {
+                assertEquals(value[j], in.readLong());
+            }
+        }
+    }
+    
+    @Test
+    public void testWriteFloats() throws IOException {
+        for (int i = 0; i < TEST_CYCLES; i++) {
+            float[] value = new float[BUFFER_SIZE / 4];
+            for (int j = 0; j < value.length; j++) {
+                value[j] = r.nextFloat();
+            }
+            
+            out.position(0);
+            out.writeFloats(value, 0, 5);
+            out.writeFloats(FloatBuffer.wrap(value, 5, value.length - 5));
+            
+            in.position(0);
+            for (int j = 0; j < value.length; j++) {
+                assertEquals(value[j], in.readFloat(), 0);
+            }
+        }
+    }
+    
+    @Test
+    public void testWriteDoubles() throws IOException {
+        for (int i = 0; i < TEST_CYCLES; i++) {
+            double[] value = new double[BUFFER_SIZE / 8];
+            for (int j = 0; j < value.length; j++) {
+                value[j] = r.nextDouble();
+            }
+            
+            out.position(0);
+            out.writeDoubles(value, 0, 5);
+            out.writeDoubles(DoubleBuffer.wrap(value, 5, value.length - 5));
+            
+            in.position(0);
+            for (int j = 0; j < value.length; j++) {
+                assertEquals(value[j], in.readDouble(), 0);
+            }
+        }
+    }
+    
+    @Test
+    public void testWriteIntsBufferBoundary() throws IOException {
+        int[] value = new int[BUFFER_SIZE];
+        for (int j = 0; j < value.length; j++) {
+            value[j] = r.nextInt();
+        }
+        
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        WritableByteChannel chan = Channels.newChannel(bos);
+        DataWriter outChan = new DataWriter(new WritableByteChannelSource(ByteBuffer.allocate(30), chan));
+        outChan.order(buf.order());
+        outChan.writeInts(value, 0, 3);
+        outChan.writeInts(value, 3, value.length - 3);
+        outChan.close();
+        
+        ByteBuffer bb = ByteBuffer.wrap(bos.toByteArray()).order(buf.order());
+        assertEquals(value.length * 4, bb.remaining());
+        for (int j = 0; j < value.length; j++) {
+            assertEquals(value[j], bb.getInt());
+        }
+    }
+    
+    @Test
+    public void testVarInt() throws IOException {
+        int[] edge = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        for (int value : edge) {
+            out.position(0);
+            out.writeVarInt(value);
+            in.position(0);
+            assertEquals(value, in.readVarInt());
+        }
+        
+        // single byte encodings for small values
+        out.position(0);
+        out.writeVarInt(127);
+        assertEquals(1, out.position());
+        out.writeVarInt(128);
+        assertEquals(3, out.position());
+        
+        for (int i = 0; i < TEST_CYCLES; i++) {
+            int value = r.nextInt() >>> r.nextInt(32);
+            out.position(0);
+            out.writeVarInt(value);
+            out.writeZigZagInt(-value);
+            in.position(0);
+            assertEquals(value, in.readVarInt());
+            assertEquals(-value, in.readZigZagInt());
+        }
+    }
+    
+    @Test
+    public void testVarLong() throws IOException {
+        long[] edge = {0, 1, 127, 128, Long.MAX_VALUE, -1, Long.MIN_VALUE};
+        for (long value : edge) {
+            out.position(0);
+            out.writeVarLong(value);
+            out.writeZigZagLong(value);
+            in.position(0);
+            assertEquals(value, in.readVarLong());
+            assertEquals(value, in.readZigZagLong());
+        }
+        
+        out.position(0);
+        out.writeZigZagLong(-1);
+        assertEquals(1, out.position());
+        
+        for (int i = 0; i < TEST_CYCLES; i++) {
+            long value = r.nextLong() >>> r.nextInt(64);
+            out.position(0);
+            out.writeVarLong(value);
+            in.position(0);
+            assertEquals(value, in.readVarLong());
+        }
+    }
+    
+    @Test(expected = IOException.class)
+    public void testVarIntMalformed() throws IOException {
+        out.position(0);
+        out.writeBytes(new byte[] {-1, -1, -1, -1, -1, -1, 0});
+        in.position(0);
+        in.readVarInt();
+    }
+    
+    @Test
+    public void testVarIntsBufferBoundary() throws IOException {
+        // mix of short and long encodings so that varints cross the end of
+        // the channel buffer
+        int[] value = new int[BUFFER_SIZE];
+        long[] valueLong = new long[BUFFER_SIZE];
+        for (int j = 0; j < value.length; j++) {
+            value[j] = r.nextInt() >>> r.nextInt(32);
+            valueLong[j] = r.nextLong() >>> r.nextInt(64);
+        }
+        
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        WritableByteChannel chanOut = Channels.newChannel(bos);
+        DataWriter outChan = new DataWriter(new WritableByteChannelSource(ByteBuffer.allocate(30), chanOut));
+        outChan.writeVarInts(value, 0, 3);
+        outChan.writeVarInts(value, 3, value.length - 3);
+        outChan.writeVarLongs(valueLong);
+        outChan.close();
+        
+        ReadableByteChannel chanIn = Channels.newChannel(new ByteArrayInputStream(bos.toByteArray()));
+        DataReader inChan = new DataReader(new ReadableByteChannelSource(ByteBuffer.allocate(30), chanIn));
+        
+        int[] valueRead = new int[value.length];
+        inChan.readVarInts(valueRead, 0, 3);
+        inChan.readVarInts(valueRead, 3, value.length - 3);
+        assertArrayEquals(value, valueRead);
+        
+        long[] valueLongRead = new long[valueLong.length];
+        inChan.readVarLongs(valueLongRead);
+        assertArrayEquals(valueLong, valueLongRead);
+    }
+    
     @Test
     public void testStringFixed() throws IOException {
         for (int i = 0; i < TEST_CYCLES; i++) {
@@ -294,6 +647,86 @@ public class DataIOTest {
         }
     }
     
+    @Test
+    public void testStringNullLimit() throws IOException {
+        out.position(0);
+        out.writeStringNull("abcdefghijklmnopqrstuvwxyz");
+        out.writeStringNull("");
+        out.writeStringNull("end");
+        
+        // strings that exceed the limit are cut without consuming the rest
+        in.position(0);
+        assertEquals("abcdefghij", in.readStringNull(10));
+        assertEquals("klmnopqrstuvwxyz", in.readStringNull());
+        assertEquals("", in.readStringNull());
+        assertEquals("end", in.readStringNull());
+    }
+    
+    @Test
+    public void testStringNullBufferBoundary() throws IOException {
+        String[] value = new String[BUFFER_SIZE];
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        for (int j = 0; j < value.length; j++) {
+            value[j] = RandomStringUtils.randomAlphanumeric(r.nextInt(80));
+            bos.write(value[j].getBytes(StandardCharsets.US_ASCII));
+            bos.write(0);
+        }
+        
+        ReadableByteChannel chan = Channels.newChannel(new ByteArrayInputStream(bos.toByteArray()));
+        DataReader inChan = new DataReader(new ReadableByteChannelSource(ByteBuffer.allocate(30), chan));
+        
+        for (int j = 0; j < value.length; j++) {
+            assertEquals(value[j], inChan.readStringNull(Integer.MAX_VALUE));
+        }
+    }
+    
+    @Test
+    public void testStringEncodingBufferBoundary() throws IOException {
+        // output must match String.getBytes, including replaced characters
+        Charset[] charsets = {StandardCharsets.US_ASCII, StandardCharsets.ISO_8859_1,
+            StandardCharsets.UTF_8, StandardCharsets.UTF_16LE};
+        
+        for (Charset cs : charsets) {
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            DataWriter outChan = new DataWriter(new WritableByteChannelSource(ByteBuffer.allocate(30), Channels.newChannel(bos)));
+            
+            for (int i = 0; i < TEST_CYCLES; i++) {
+                String value = RandomStringUtils.random(r.nextInt(50)) + "\u00e4\ud83d\ude00";
+                byte[] raw = value.getBytes(cs);
+                expected.write(raw);
+                expected.write(new byte[8]);
+                outChan.writeStringFixed(value, raw.length + 8, cs);
+            }
+            outChan.close();
+            
+            assertArrayEquals(cs.name(), expected.toByteArray(), bos.toByteArray());
+        }
+    }
+    
+    @Test
+    public void testStringPrefixedMultiByte() throws IOException {
+        String value = "gr\u00fc\u00dfe";
+        out.position(0);
+        out.writeStringPrefixed(value, Short.TYPE, StandardCharsets.UTF_8);
+        out.writeStringNull(value, StandardCharsets.UTF_8);
+        in.position(0);
+        assertEquals(value, in.readStringPrefixed(Short.TYPE, (short) 64, StandardCharsets.UTF_8));
+        assertEquals(value, in.readStringNull(64, StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    public void testWriteZeros() throws IOException {
+        out.position(0);
+        out.writeBytes(new byte[] {1, 1, 1, 1, 1, 1, 1, 1, 1, 1});
+        out.position(1);
+        out.writeZeros(8);
+        in.position(0);
+        byte[] raw = new byte[10];
+        in.readBytes(raw);
+        assertArrayEquals(new byte[] {1, 0, 0, 0, 0, 0, 0, 0, 0, 1}, raw);
+    }
+    
     @Test
     public void testStringPrefixed() throws IOException {
         List<Class> types = new ArrayList<>();
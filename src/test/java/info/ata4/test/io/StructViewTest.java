@@ -0,0 +1,118 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io;
+
+import info.ata4.io.StructView;
+import info.ata4.io.buffer.source.BufferedSource;
+import info.ata4.io.buffer.source.MappedFileSource;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.*;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class StructViewTest {
+    
+    private static final int COUNT = 1000;
+    
+    private static class RecordView extends StructView {
+
+        @Override
+        public int sizeof() {
+            return 16;
+        }
+        
+        public int id() {
+            return getInt(0);
+        }
+        
+        public int flags() {
+            return getUnsignedShort(4);
+        }
+        
+        public float weight() {
+            return getHalf(6);
+        }
+        
+        public double value() {
+            return getDouble(8);
+        }
+    }
+    
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+    
+    private ByteBuffer data;
+    
+    @Before
+    public void setUp() {
+        data = ByteBuffer.allocate(COUNT * 16).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < COUNT; i++) {
+            data.putInt(i);
+            data.putShort((short) (0x8000 | i));
+            data.putShort((short) 0x3c00); // 1.0
+            data.putDouble(i * 0.5);
+        }
+        data.flip();
+    }
+    
+    private void assertRecord(RecordView view, int i) {
+        assertEquals(i, view.id());
+        assertEquals(0x8000 | i, view.flags());
+        assertEquals(1.0f, view.weight(), 0.0004);
+        assertEquals(i * 0.5, view.value(), 0);
+    }
+    
+    @Test
+    public void testBuffer() {
+        RecordView view = new RecordView();
+        for (int i = 0; i < COUNT; i++) {
+            view.bind(data, i * view.sizeof());
+            assertRecord(view, i);
+        }
+        
+        // the buffer state is untouched
+        assertEquals(0, data.position());
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testBounds() {
+        new RecordView().bind(data, COUNT * 16 - 8);
+    }
+    
+    @Test
+    public void testMappedFile() throws IOException {
+        Path file = tmp.newFile("view.bin").toPath();
+        Files.write(file, data.array());
+        
+        // small segments, so some records are mapped separately
+        try (BufferedSource source = new MappedFileSource(FileChannel.open(file, READ), MapMode.READ_ONLY, 1000, 8)) {
+            source.order(ByteOrder.LITTLE_ENDIAN);
+            
+            RecordView view = new RecordView();
+            for (int i = COUNT - 1; i >= 0; i--) {
+                view.bind(source, i * 16);
+                assertRecord(view, i);
+            }
+        }
+    }
+}
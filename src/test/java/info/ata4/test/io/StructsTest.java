@@ -0,0 +1,166 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataReaders;
+import info.ata4.io.DataWriter;
+import info.ata4.io.DataWriters;
+import info.ata4.io.Struct;
+import info.ata4.io.StructFactory;
+import info.ata4.io.buffer.source.ForkableSource;
+import info.ata4.io.buffer.source.MappedFileSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.*;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class StructsTest {
+    
+    private static final int COUNT = 10000;
+    private static final int HEADER = 12;
+    
+    // 12 bytes of data plus 4 bytes padding
+    private static final int STRIDE = 16;
+    
+    private static class Record implements Struct {
+        
+        private int id;
+        private long value;
+
+        @Override
+        public void read(DataReader in) throws IOException {
+            id = in.readInt();
+            value = in.readLong();
+        }
+
+        @Override
+        public void write(DataWriter out) throws IOException {
+            out.writeInt(id);
+            out.writeLong(value);
+        }
+    }
+    
+    private static final StructFactory<Record> FACTORY = new StructFactory<Record>() {
+        @Override
+        public Record create() {
+            return new Record();
+        }
+    };
+    
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+    
+    private ForkJoinPool pool;
+    private byte[] data;
+    
+    @Before
+    public void setUp() throws IOException {
+        pool = new ForkJoinPool(4);
+        
+        ByteBuffer bb = ByteBuffer.allocate(HEADER + COUNT * STRIDE);
+        DataWriter out = DataWriters.forByteBuffer(bb);
+        out.position(HEADER);
+        for (int i = 0; i < COUNT; i++) {
+            Record record = new Record();
+            record.id = i;
+            record.value = i * 31L;
+            out.position(HEADER + i * STRIDE);
+            out.writeStruct(record);
+        }
+        data = bb.array();
+    }
+    
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+    
+    private void assertRecords(List<Record> records) {
+        assertEquals(COUNT, records.size());
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals(i, records.get(i).id);
+            assertEquals(i * 31L, records.get(i).value);
+        }
+    }
+    
+    @Test
+    public void testSequential() throws IOException {
+        DataReader in = DataReaders.forByteBuffer(ByteBuffer.wrap(data));
+        in.position(HEADER);
+        assertRecords(in.readStructs(FACTORY, COUNT, STRIDE));
+        assertFalse(in.hasRemaining());
+    }
+    
+    @Test
+    public void testParallelBuffer() throws IOException {
+        DataReader in = DataReaders.forByteBuffer(ByteBuffer.wrap(data));
+        in.position(HEADER);
+        assertRecords(in.readStructs(FACTORY, COUNT, STRIDE, pool));
+        assertFalse(in.hasRemaining());
+    }
+    
+    @Test
+    public void testParallelFile() throws IOException {
+        Path file = tmp.newFile("structs.bin").toPath();
+        Files.write(file, data);
+        
+        try (DataReader in = DataReaders.forSharedFile(file)) {
+            in.position(HEADER);
+            assertRecords(in.readStructs(FACTORY, COUNT, STRIDE, pool));
+            assertEquals(data.length, in.position());
+        }
+    }
+    
+    @Test
+    public void testParallelMappedFile() throws IOException {
+        Path file = tmp.newFile("structs.bin").toPath();
+        Files.write(file, data);
+        
+        // small segments so that the tasks cross segment boundaries
+        try (DataReader in = new DataReader(new MappedFileSource(FileChannel.open(file, READ),
+                MapMode.READ_ONLY, 4096, 16))) {
+            assertTrue(in.source() instanceof ForkableSource);
+            in.position(HEADER);
+            assertRecords(in.readStructs(FACTORY, COUNT, STRIDE, pool));
+            assertEquals(data.length, in.position());
+        }
+    }
+    
+    @Test
+    public void testParallelFallback() throws IOException {
+        // non-seekable source, the padding is part of the next record here
+        ByteBuffer bb = ByteBuffer.allocate(COUNT * 12);
+        for (int i = 0; i < COUNT; i++) {
+            bb.putInt(i);
+            bb.putLong(i * 31L);
+        }
+        
+        try (DataReader in = DataReaders.forInputStream(new ByteArrayInputStream(bb.array()))) {
+            assertRecords(in.readStructs(FACTORY, COUNT, 12, pool));
+        }
+    }
+}
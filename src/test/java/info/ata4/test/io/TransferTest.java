@@ -0,0 +1,156 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataReaders;
+import info.ata4.io.DataWriter;
+import info.ata4.io.DataWriters;
+import info.ata4.io.buffer.source.ChunkedMemorySource;
+import info.ata4.io.channel.BufferedWritableByteChannel;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.*;
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class TransferTest {
+
+    // larger than the default buffer sizes
+    private static final int PAYLOAD_SIZE = 300000;
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private byte[] payload;
+    private Path src;
+
+    @Before
+    public void setUp() throws IOException {
+        payload = new byte[PAYLOAD_SIZE];
+        new Random(0).nextBytes(payload);
+
+        // payload embedded between a header and a trailer
+        src = tmp.newFile().toPath();
+        try (DataWriter out = DataWriters.forFile(src, WRITE)) {
+            out.writeInt(1);
+            out.writeBuffer(ByteBuffer.wrap(payload));
+            out.writeInt(2);
+        }
+    }
+
+    private void assertPayload(byte[] b, int off) {
+        assertArrayEquals(payload, Arrays.copyOfRange(b, off, off + PAYLOAD_SIZE));
+    }
+
+    @Test
+    public void testFileToFile() throws IOException {
+        Path dst = tmp.newFile().toPath();
+
+        try (
+            DataReader in = DataReaders.forFile(src, READ);
+            DataWriter out = DataWriters.forFile(dst, WRITE)
+        ) {
+            assertEquals(1, in.readInt());
+            out.writeShort((short) 3);
+            out.transferFrom(in, PAYLOAD_SIZE);
+            out.writeShort((short) 4);
+
+            assertEquals(4 + PAYLOAD_SIZE, in.position());
+            assertEquals(2, in.readInt());
+            assertEquals(2 + PAYLOAD_SIZE + 2, out.position());
+
+            in.position(0);
+            try {
+                out.transferFrom(in, PAYLOAD_SIZE + 9);
+                fail();
+            } catch (EOFException ex) {
+            }
+        }
+
+        try (DataReader in = DataReaders.forFile(dst, READ)) {
+            assertEquals(3, in.readShort());
+            in.position(2 + PAYLOAD_SIZE);
+            assertEquals(4, in.readShort());
+        }
+
+        assertPayload(Files.readAllBytes(dst), 2);
+    }
+
+    @Test
+    public void testBufferedChannel() throws IOException {
+        Path dst = tmp.newFile().toPath();
+
+        try (
+            DataReader in = DataReaders.forFile(src, READ);
+            BufferedWritableByteChannel chan = new BufferedWritableByteChannel(
+                    FileChannel.open(dst, WRITE))
+        ) {
+            // pending bytes of the channel must be written first
+            chan.write(ByteBuffer.wrap(new byte[] {5, 6}));
+            in.position(4);
+            in.transferTo(chan, PAYLOAD_SIZE);
+            chan.write(ByteBuffer.wrap(new byte[] {7}));
+        }
+
+        byte[] b = Files.readAllBytes(dst);
+        assertEquals(2 + PAYLOAD_SIZE + 1, b.length);
+        assertEquals(5, b[0]);
+        assertEquals(7, b[b.length - 1]);
+        assertPayload(b, 2);
+    }
+
+    @Test
+    public void testFallback() throws IOException {
+        // memory to memory
+        DataReader in = DataReaders.forByteBuffer(ByteBuffer.wrap(payload));
+        DataWriter out = DataWriters.forMemory();
+        out.writeByte((byte) 8);
+        out.transferFrom(in, PAYLOAD_SIZE);
+
+        byte[] b = ((ChunkedMemorySource) out.source()).toByteArray();
+        assertEquals(1 + PAYLOAD_SIZE, b.length);
+        assertPayload(b, 1);
+
+        // memory to stream
+        in.position(0);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DataWriter out2 = DataWriters.forOutputStream(bos)) {
+            out2.writeByte((byte) 9);
+            out2.transferFrom(in, PAYLOAD_SIZE);
+        }
+        assertPayload(bos.toByteArray(), 1);
+
+        // file to stream
+        bos.reset();
+        try (
+            DataReader in2 = DataReaders.forFile(src, READ);
+            DataWriter out2 = DataWriters.forOutputStream(bos)
+        ) {
+            in2.position(4);
+            out2.transferFrom(in2, PAYLOAD_SIZE);
+        }
+        assertPayload(bos.toByteArray(), 0);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.buffer;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.buffer.DirectByteBufferPool;
+import info.ata4.io.buffer.source.ReadableByteChannelSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class DirectByteBufferPoolTest {
+    
+    @Test
+    public void testSizeClasses() {
+        DirectByteBufferPool pool = new DirectByteBufferPool(1024, 8192, 1 << 20);
+        
+        assertEquals(1024, pool.acquire(0).capacity());
+        assertEquals(1024, pool.acquire(1024).capacity());
+        assertEquals(2048, pool.acquire(1025).capacity());
+        assertEquals(8192, pool.acquire(8192).capacity());
+        
+        // too large for pooling
+        assertEquals(10000, pool.acquire(10000).capacity());
+    }
+    
+    @Test
+    public void testReuse() {
+        DirectByteBufferPool pool = new DirectByteBufferPool(1024, 8192, 1 << 20);
+        
+        ByteBuffer bb = pool.acquire(3000);
+        assertTrue(bb.isDirect());
+        bb.order(ByteOrder.LITTLE_ENDIAN);
+        bb.position(100);
+        
+        pool.release(bb);
+        assertEquals(4096, pool.pooledBytes());
+        
+        ByteBuffer bb2 = pool.acquire(4000);
+        assertSame(bb, bb2);
+        assertEquals(0, bb2.position());
+        assertEquals(bb2.capacity(), bb2.limit());
+        assertEquals(ByteOrder.BIG_ENDIAN, bb2.order());
+        assertEquals(0, pool.pooledBytes());
+        
+        // foreign buffers are ignored
+        pool.release(ByteBuffer.allocate(4096));
+        pool.release(ByteBuffer.allocateDirect(3000));
+        assertEquals(0, pool.pooledBytes());
+    }
+    
+    @Test
+    public void testLimit() {
+        DirectByteBufferPool pool = new DirectByteBufferPool(1024, 8192, 8192);
+        
+        pool.release(pool.acquire(4096));
+        pool.release(pool.acquire(8192));
+        assertEquals(4096, pool.pooledBytes());
+        
+        pool.release(ByteBuffer.allocateDirect(4096));
+        assertEquals(8192, pool.pooledBytes());
+        
+        pool.release(ByteBuffer.allocateDirect(1024));
+        assertEquals(8192, pool.pooledBytes());
+    }
+    
+    @Test
+    public void testSourceClose() throws IOException {
+        DirectByteBufferPool pool = new DirectByteBufferPool(1024, 8192, 1 << 20);
+        ByteBuffer bb = pool.acquire(1024);
+        
+        DataReader in = new DataReader(new ReadableByteChannelSource(bb, Channels.newChannel(new ByteArrayInputStream(new byte[16])), pool));
+        assertEquals(0, in.readLong());
+        
+        // the buffer must be returned exactly once
+        in.close();
+        in.close();
+        assertEquals(1024, pool.pooledBytes());
+        assertSame(bb, pool.acquire(1024));
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.buffer.source;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataWriter;
+import info.ata4.io.buffer.source.CachedSeekableByteChannelSource;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.*;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class CachedSeekableByteChannelSourceTest {
+    
+    // tiny pages to test straddling requests and evictions
+    private static final int PAGE_SIZE = 64;
+    private static final int MAX_PAGES = 4;
+    private static final int VALUES = 1000;
+    
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+    
+    private final Random r = new Random();
+    private Path file;
+    private long[] values;
+    private byte[] bytes;
+    
+    @Before
+    public void setUp() throws IOException {
+        file = tmp.newFile("cached.bin").toPath();
+        values = new long[VALUES];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = r.nextLong();
+        }
+        bytes = new byte[PAGE_SIZE * 3];
+        r.nextBytes(bytes);
+    }
+    
+    private CachedSeekableByteChannelSource openSource() throws IOException {
+        return new CachedSeekableByteChannelSource(Files.newByteChannel(file, READ, WRITE), PAGE_SIZE, MAX_PAGES);
+    }
+    
+    private void writeTestData(DataWriter out) throws IOException {
+        // odd offset so that the longs cross page boundaries
+        out.writeByte((byte) 1);
+        for (long value : values) {
+            out.writeLong(value);
+        }
+        out.writeBytes(bytes);
+    }
+    
+    private void readTestData(DataReader in) throws IOException {
+        assertEquals(1, in.readByte());
+        for (long value : values) {
+            assertEquals(value, in.readLong());
+        }
+        byte[] bytesRead = new byte[bytes.length];
+        in.readBytes(bytesRead);
+        assertArrayEquals(bytes, bytesRead);
+        assertFalse(in.hasRemaining());
+    }
+    
+    @Test
+    public void testWriteRead() throws IOException {
+        long size = 1 + VALUES * 8 + bytes.length;
+        
+        try (DataWriter out = new DataWriter(openSource())) {
+            out.order(ByteOrder.LITTLE_ENDIAN);
+            writeTestData(out);
+            assertEquals(size, out.size());
+        }
+        
+        assertEquals(size, Files.size(file));
+        
+        try (DataReader in = new DataReader(openSource())) {
+            in.order(ByteOrder.LITTLE_ENDIAN);
+            readTestData(in);
+        }
+    }
+    
+    @Test
+    public void testSeek() throws IOException {
+        try (DataWriter out = new DataWriter(openSource())) {
+            writeTestData(out);
+        }
+        
+        try (DataReader in = new DataReader(openSource())) {
+            for (int i = 0; i < 200; i++) {
+                int index = r.nextInt(VALUES);
+                in.position(1 + index * 8);
+                assertEquals(values[index], in.readLong());
+            }
+        }
+    }
+    
+    @Test
+    public void testSeekWithoutWrite() throws IOException {
+        Files.write(file, bytes);
+        
+        try (DataWriter out = new DataWriter(openSource())) {
+            out.writeByte((byte) 1);
+            
+            // neither seeking beyond the end nor within the current page may
+            // change the size
+            out.position(2000);
+            assertEquals(bytes.length, out.size());
+            out.position(2);
+            assertEquals(bytes.length, out.size());
+            out.position(bytes.length + 10);
+            assertEquals(bytes.length, out.size());
+            
+            out.flush();
+            assertEquals(bytes.length, Files.size(file));
+        }
+        
+        assertEquals(bytes.length, Files.size(file));
+        
+        bytes[0] = 1;
+        assertArrayEquals(bytes, Files.readAllBytes(file));
+    }
+    
+    @Test
+    public void testOverwrite() throws IOException {
+        try (DataWriter out = new DataWriter(openSource())) {
+            writeTestData(out);
+            
+            // modify pages that were already evicted
+            for (int i = 0; i < VALUES; i += 10) {
+                out.position(1 + i * 8);
+                out.writeLong(i);
+                values[i] = i;
+            }
+        }
+        
+        try (DataReader in = new DataReader(openSource())) {
+            readTestData(in);
+        }
+    }
+    
+    @Test
+    public void testHits() throws IOException {
+        try (DataWriter out = new DataWriter(openSource())) {
+            writeTestData(out);
+        }
+        
+        CachedSeekableByteChannelSource source = openSource();
+        try (DataReader in = new DataReader(source)) {
+            // alternate between a header and a data block on separate pages
+            for (int i = 0; i < 10; i++) {
+                in.position(0);
+                assertEquals(1, in.readByte());
+                in.position(1 + 500 * 8);
+                assertEquals(values[500], in.readLong());
+            }
+            
+            assertEquals(2, source.misses());
+            assertEquals(18, source.hits());
+        }
+    }
+    
+    @Test(expected = EOFException.class)
+    public void testEOF() throws IOException {
+        try (DataWriter out = new DataWriter(openSource())) {
+            out.writeInt(1);
+        }
+        
+        try (DataReader in = new DataReader(openSource())) {
+            in.readLong();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.buffer.source;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataWriter;
+import info.ata4.io.DataWriters;
+import info.ata4.io.buffer.DirectByteBufferPool;
+import info.ata4.io.buffer.source.ChunkedMemorySource;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class ChunkedMemorySourceTest {
+
+    private static final int TEST_CYCLES = 1000;
+
+    private final Random r = new Random(0);
+
+    private void writeValues(DataWriter out, Random rv) throws IOException {
+        for (int i = 0; i < TEST_CYCLES; i++) {
+            out.writeInt(rv.nextInt());
+            out.writeByte((byte) rv.nextInt());
+            out.writeLong(rv.nextLong());
+            out.writeStringNull("test" + i);
+        }
+    }
+
+    private void readValues(DataReader in, Random rv) throws IOException {
+        for (int i = 0; i < TEST_CYCLES; i++) {
+            assertEquals(rv.nextInt(), in.readInt());
+            assertEquals((byte) rv.nextInt(), in.readByte());
+            assertEquals(rv.nextLong(), in.readLong());
+            assertEquals("test" + i, in.readStringNull());
+        }
+    }
+
+    @Test
+    public void testReadWrite() throws IOException {
+        // small chunks, so most values cross a chunk boundary
+        ChunkedMemorySource mem = new ChunkedMemorySource(13, false);
+        DataWriter out = new DataWriter(mem);
+        writeValues(out, new Random(1));
+
+        long size = out.position();
+        assertEquals(size, out.size());
+
+        DataReader in = new DataReader(mem);
+        in.position(0);
+        readValues(in, new Random(1));
+        assertEquals(size, in.position());
+
+        try {
+            in.readByte();
+            fail();
+        } catch (EOFException ex) {
+        }
+    }
+
+    @Test
+    public void testOverwrite() throws IOException {
+        byte[] data = new byte[10000];
+        r.nextBytes(data);
+
+        ChunkedMemorySource mem = new ChunkedMemorySource(256, true);
+        DataWriter out = new DataWriter(mem);
+        out.writeBytes(data);
+
+        // overwrite random regions, including ones larger than a chunk
+        for (int i = 0; i < 100; i++) {
+            int len = r.nextInt(600);
+            int off = r.nextInt(data.length - len);
+            byte[] patch = new byte[len];
+            r.nextBytes(patch);
+            System.arraycopy(patch, 0, data, off, len);
+
+            out.position(off);
+            out.writeBytes(patch);
+        }
+
+        assertEquals(data.length, out.size());
+        assertArrayEquals(data, mem.toByteArray());
+
+        DataReader in = new DataReader(mem);
+        in.position(0);
+        byte[] data2 = new byte[data.length];
+        in.readBytes(data2);
+        assertArrayEquals(data, data2);
+    }
+
+    @Test
+    public void testSeekBeyondEnd() throws IOException {
+        DataWriter out = DataWriters.forMemory();
+        out.writeInt(1);
+        out.position(100000);
+        out.writeInt(2);
+
+        assertEquals(100004, out.size());
+
+        ChunkedMemorySource mem = (ChunkedMemorySource) out.source();
+        ByteBuffer bb = mem.toByteBuffer();
+        assertEquals(100004, bb.remaining());
+        assertEquals(1, bb.getInt(0));
+        assertEquals(0, bb.getLong(50000));
+        assertEquals(2, bb.getInt(100000));
+    }
+
+    @Test
+    public void testSeekWithoutWrite() throws IOException {
+        ChunkedMemorySource mem = new ChunkedMemorySource(16, false);
+        mem.requestWrite(4).putInt(1);
+
+        // neither seeking beyond the end nor within the written data may
+        // change the size
+        mem.position(100);
+        assertEquals(4, mem.size());
+        mem.position(2);
+        assertEquals(4, mem.size());
+        mem.position(10);
+        assertEquals(4, mem.size());
+
+        assertArrayEquals(new byte[] {0, 0, 0, 1}, mem.toByteArray());
+        assertEquals(1, mem.toBuffers().length);
+
+        try {
+            mem.requestRead(1);
+            fail();
+        } catch (EOFException ex) {
+        }
+    }
+
+    @Test
+    public void testToBuffers() throws IOException {
+        byte[] data = new byte[1000];
+        r.nextBytes(data);
+
+        DirectByteBufferPool pool = new DirectByteBufferPool();
+        ChunkedMemorySource mem = new ChunkedMemorySource(128, pool);
+        DataWriter out = new DataWriter(mem);
+        out.writeBytes(data);
+
+        ByteBuffer[] bbs = mem.toBuffers();
+        assertEquals(8, bbs.length);
+
+        ByteBuffer bb = ByteBuffer.allocate(data.length);
+        for (ByteBuffer chunk : bbs) {
+            assertTrue(chunk.isReadOnly());
+            bb.put(chunk);
+        }
+        assertArrayEquals(data, bb.array());
+
+        // consolidated copy of all chunks
+        ByteBuffer bb2 = mem.toByteBuffer();
+        byte[] data2 = new byte[bb2.remaining()];
+        bb2.get(data2);
+        assertArrayEquals(data, data2);
+
+        // pooled chunks must be zeroed before they're reused
+        out.close();
+        mem = new ChunkedMemorySource(128, pool);
+        out = new DataWriter(mem);
+        out.position(500);
+        out.writeByte((byte) 1);
+        byte[] data3 = mem.toByteArray();
+        assertEquals(501, data3.length);
+        assertTrue(Arrays.equals(new byte[500], Arrays.copyOf(data3, 500)));
+    }
+}
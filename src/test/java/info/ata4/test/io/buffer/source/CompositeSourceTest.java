@@ -0,0 +1,151 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.buffer.source;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataReaders;
+import info.ata4.io.buffer.source.BufferedSource;
+import info.ata4.io.buffer.source.CompositeSource;
+import info.ata4.io.buffer.source.NonWritableSourceException;
+import info.ata4.io.buffer.source.SeekableByteChannelSource;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class CompositeSourceTest {
+    
+    // includes an empty part and parts that aren't a multiple of 8 bytes
+    private static final int[] PART_SIZES = {1000, 0, 13, 4096, 7, 3001};
+    
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+    
+    private final Random r = new Random(0);
+    private byte[] data;
+    private List<ByteBuffer> buffers;
+    private List<Path> files;
+    
+    @Before
+    public void setUp() throws IOException {
+        int size = 0;
+        for (int partSize : PART_SIZES) {
+            size += partSize;
+        }
+        
+        data = new byte[size];
+        r.nextBytes(data);
+        
+        buffers = new ArrayList<>();
+        files = new ArrayList<>();
+        
+        int offset = 0;
+        for (int i = 0; i < PART_SIZES.length; i++) {
+            byte[] part = Arrays.copyOfRange(data, offset, offset + PART_SIZES[i]);
+            buffers.add(ByteBuffer.wrap(part));
+            
+            Path file = tmp.newFile("part." + i).toPath();
+            Files.write(file, part);
+            files.add(file);
+            
+            offset += PART_SIZES[i];
+        }
+    }
+    
+    private void testSource(BufferedSource source) throws IOException {
+        ByteBuffer expected = ByteBuffer.wrap(data);
+        expected.order(ByteOrder.LITTLE_ENDIAN);
+        
+        try (DataReader in = new DataReader(source)) {
+            in.order(ByteOrder.LITTLE_ENDIAN);
+            assertEquals(data.length, in.size());
+            
+            // sequential longs straddle most part boundaries
+            while (expected.remaining() >= 8) {
+                assertEquals(expected.getLong(), in.readLong());
+            }
+            while (expected.hasRemaining()) {
+                assertEquals(expected.get(), in.readByte());
+            }
+            assertFalse(in.hasRemaining());
+            
+            // random access
+            for (int i = 0; i < 1000; i++) {
+                int pos = r.nextInt(data.length - 4);
+                in.position(pos);
+                assertEquals(expected.getInt(pos), in.readInt());
+                assertEquals(pos + 4, in.position());
+            }
+            
+            // bulk reads across several parts
+            in.position(990);
+            byte[] raw = new byte[5000];
+            in.readBytes(raw);
+            assertArrayEquals(Arrays.copyOfRange(data, 990, 5990), raw);
+            
+            in.position(data.length - 2);
+            try {
+                in.readInt();
+                fail();
+            } catch (EOFException ex) {
+            }
+        }
+    }
+    
+    @Test
+    public void testBuffers() throws IOException {
+        testSource(CompositeSource.forBuffers(buffers));
+    }
+    
+    @Test
+    public void testMappedFiles() throws IOException {
+        testSource(CompositeSource.forMappedFiles(files));
+    }
+    
+    @Test
+    public void testChannels() throws IOException {
+        List<BufferedSource> sources = new ArrayList<>();
+        for (Path file : files) {
+            sources.add(new SeekableByteChannelSource(ByteBuffer.allocate(64), FileChannel.open(file, READ)));
+        }
+        testSource(new CompositeSource(sources));
+    }
+    
+    @Test
+    public void testSplitFiles() throws IOException {
+        try (DataReader in = DataReaders.forSplitFiles(files)) {
+            in.position(1000 + 13 - 2);
+            assertEquals(ByteBuffer.wrap(data).getInt(1011), in.readInt());
+        }
+    }
+    
+    @Test(expected = NonWritableSourceException.class)
+    public void testReadOnly() throws IOException {
+        CompositeSource source = CompositeSource.forBuffers(buffers);
+        source.requestWrite(1);
+    }
+}
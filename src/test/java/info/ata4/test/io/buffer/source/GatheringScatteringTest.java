@@ -0,0 +1,173 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.buffer.source;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataReaders;
+import info.ata4.io.DataWriter;
+import info.ata4.io.DataWriters;
+import info.ata4.io.buffer.source.WritableByteChannelSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.*;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class GatheringScatteringTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private final Random r = new Random(0);
+
+    private ByteBuffer[] randomBuffers(int... sizes) {
+        ByteBuffer[] bbs = new ByteBuffer[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            byte[] b = new byte[sizes[i]];
+            r.nextBytes(b);
+            bbs[i] = ByteBuffer.wrap(b);
+        }
+        return bbs;
+    }
+
+    private ByteBuffer[] emptyBuffers(ByteBuffer[] bbs) {
+        ByteBuffer[] bbs2 = new ByteBuffer[bbs.length];
+        for (int i = 0; i < bbs.length; i++) {
+            bbs2[i] = ByteBuffer.allocate(bbs[i].capacity());
+        }
+        return bbs2;
+    }
+
+    private void assertBuffersEqual(ByteBuffer[] expected, ByteBuffer[] actual) {
+        for (int i = 0; i < expected.length; i++) {
+            assertFalse(actual[i].hasRemaining());
+            assertArrayEquals(expected[i].array(), actual[i].array());
+        }
+    }
+
+    @Test
+    public void testFile() throws IOException {
+        Path file = tmp.newFile().toPath();
+
+        // header, payloads larger than the buffer and an empty buffer
+        ByteBuffer[] bbs = randomBuffers(16, 100000, 0, 70000, 5);
+
+        try (DataWriter out = DataWriters.forFile(file, WRITE)) {
+            out.writeInt(42);
+            out.writeBuffers(bbs);
+            out.writeInt(43);
+        }
+
+        assertEquals(4 + 170021 + 4, Files.size(file));
+
+        ByteBuffer[] bbs2 = emptyBuffers(bbs);
+        try (DataReader in = DataReaders.forFile(file, READ)) {
+            assertEquals(42, in.readInt());
+            in.readBuffers(bbs2);
+            assertEquals(43, in.readInt());
+            assertEquals(in.size(), in.position());
+
+            in.position(0);
+            try {
+                in.readBuffers(emptyBuffers(randomBuffers(100000, 100000)));
+                fail();
+            } catch (EOFException ex) {
+            }
+        }
+
+        for (ByteBuffer bb : bbs) {
+            bb.rewind();
+        }
+        assertBuffersEqual(bbs, bbs2);
+    }
+
+    @Test
+    public void testSingleWrite() throws IOException {
+        Path file = tmp.newFile().toPath();
+
+        ByteBuffer[] bbs = randomBuffers(16, 1000, 2000);
+
+        final int[] calls = new int[1];
+        try (FileChannel fc = FileChannel.open(file, WRITE)) {
+            GatheringByteChannel chan = new GatheringByteChannel() {
+                @Override
+                public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+                    calls[0]++;
+                    return fc.write(srcs, offset, length);
+                }
+
+                @Override
+                public long write(ByteBuffer[] srcs) throws IOException {
+                    return write(srcs, 0, srcs.length);
+                }
+
+                @Override
+                public int write(ByteBuffer src) throws IOException {
+                    calls[0]++;
+                    return fc.write(src);
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return fc.isOpen();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    fc.close();
+                }
+            };
+
+            DataWriter out = new DataWriter(new WritableByteChannelSource(ByteBuffer.allocate(256), chan));
+            out.writeLong(1);
+            out.writeBuffers(bbs);
+            out.flush();
+        }
+
+        // pending bytes and all buffers in one call
+        assertEquals(1, calls[0]);
+        assertEquals(8 + 3016, Files.size(file));
+    }
+
+    @Test
+    public void testStream() throws IOException {
+        // channels from streams are neither gathering nor scattering
+        ByteBuffer[] bbs = randomBuffers(10, 300000, 20);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DataWriter out = DataWriters.forOutputStream(bos)) {
+            out.writeBuffers(bbs);
+        }
+
+        ByteBuffer[] bbs2 = emptyBuffers(bbs);
+        try (DataReader in = DataReaders.forInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            in.readBuffers(bbs2);
+        }
+
+        for (ByteBuffer bb : bbs) {
+            bb.rewind();
+        }
+        assertBuffersEqual(bbs, bbs2);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.buffer.source;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataReaders;
+import info.ata4.io.DataWriter;
+import info.ata4.io.DataWriters;
+import info.ata4.io.buffer.source.ChunkedMemorySource;
+import info.ata4.io.buffer.source.DeflaterSource;
+import info.ata4.io.buffer.source.InflaterSource;
+import info.ata4.io.buffer.source.ReadableByteChannelSource;
+import info.ata4.io.util.InflaterPool;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.*;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class InflaterDeflaterSourceTest {
+
+    // larger than the default buffer sizes
+    private static final int DATA_SIZE = 300000;
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private byte[] data;
+
+    @Before
+    public void setUp() {
+        // compressible data
+        Random r = new Random(0);
+        data = new byte[DATA_SIZE];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (r.nextInt(4) + 'a');
+        }
+    }
+
+    @Test
+    public void testSection() throws IOException {
+        // compressed section between a header and a trailer
+        DataWriter out = DataWriters.forMemory();
+        out.order(ByteOrder.LITTLE_ENDIAN);
+        out.writeInt(1);
+        try (DataWriter z = out.deflate()) {
+            z.writeInt(2);
+            z.writeBuffer(ByteBuffer.wrap(data));
+            z.writeLong(3);
+        }
+        out.writeInt(4);
+
+        ByteBuffer bb = ((ChunkedMemorySource) out.source()).toByteBuffer();
+        assertTrue(bb.remaining() < DATA_SIZE / 2);
+
+        // heap buffers are fed to the inflater directly, direct buffers are
+        // copied in chunks
+        ByteBuffer[] inputs = {bb, ByteBuffer.allocateDirect(bb.remaining()).put(bb.duplicate())};
+        inputs[1].flip();
+
+        for (ByteBuffer input : inputs) {
+            DataReader in = DataReaders.forByteBuffer(input);
+            in.order(ByteOrder.LITTLE_ENDIAN);
+            assertEquals(1, in.readInt());
+
+            byte[] data2 = new byte[DATA_SIZE];
+            try (DataReader z = in.inflate()) {
+                assertEquals(2, z.readInt());
+                z.readBytes(data2, 0, 1000);
+                z.readBuffer(ByteBuffer.wrap(data2, 1000, DATA_SIZE - 1000));
+                assertEquals(3, z.readLong());
+
+                try {
+                    z.readByte();
+                    fail();
+                } catch (EOFException ex) {
+                }
+            }
+            assertArrayEquals(data, data2);
+
+            // the reader continues directly after the compressed section
+            assertEquals(4, in.readInt());
+            assertEquals(in.size(), in.position());
+        }
+    }
+
+    @Test
+    public void testNonSeekable() throws IOException {
+        // two compressed sections directly after each other, followed by an int
+        DataWriter out = DataWriters.forMemory();
+        try (DataWriter z = out.deflate()) {
+            z.writeBuffer(ByteBuffer.wrap(data));
+        }
+        try (DataWriter z = out.deflate()) {
+            z.writeInt(5);
+        }
+        out.writeInt(6);
+
+        byte[] b = ((ChunkedMemorySource) out.source()).toByteArray();
+
+        // the over-read input is returned to the buffer of the channel source
+        DataReader in = new DataReader(new ReadableByteChannelSource(ByteBuffer.allocate(4096),
+                Channels.newChannel(new ByteArrayInputStream(b))));
+        assertFalse(in.source().canSeek());
+
+        byte[] data2 = new byte[DATA_SIZE];
+        try (DataReader z = in.inflate()) {
+            z.readBuffer(ByteBuffer.wrap(data2));
+        }
+        assertArrayEquals(data, data2);
+
+        try (DataReader z = in.inflate()) {
+            assertEquals(5, z.readInt());
+        }
+
+        assertEquals(6, in.readInt());
+
+        try {
+            in.readByte();
+            fail();
+        } catch (EOFException ex) {
+        }
+    }
+
+    @Test
+    public void testCompatibility() throws IOException {
+        // JDK stream to source
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DeflaterOutputStream dos = new DeflaterOutputStream(bos, new Deflater(9, true))) {
+            dos.write(data);
+        }
+
+        byte[] data2 = new byte[DATA_SIZE];
+        DataReader in = DataReaders.forByteBuffer(ByteBuffer.wrap(bos.toByteArray()));
+        try (DataReader z = in.inflate(true)) {
+            z.readBuffer(ByteBuffer.wrap(data2));
+        }
+        assertArrayEquals(data, data2);
+
+        // source to JDK stream, with a flush in between
+        DataWriter out = DataWriters.forMemory();
+        try (DataWriter z = out.deflate(1, false)) {
+            z.writeBytes(data, 0, 1000);
+            z.flush();
+            z.writeBuffer(ByteBuffer.wrap(data, 1000, DATA_SIZE - 1000));
+        }
+
+        byte[] b = ((ChunkedMemorySource) out.source()).toByteArray();
+        byte[] data3 = new byte[DATA_SIZE];
+        try (InflaterInputStream iis = new InflaterInputStream(new ByteArrayInputStream(b))) {
+            int off = 0;
+            int n;
+            while (off < data3.length && (n = iis.read(data3, off, data3.length - off)) > 0) {
+                off += n;
+            }
+            assertEquals(-1, iis.read());
+        }
+        assertArrayEquals(data, data3);
+    }
+
+    @Test
+    public void testChannel() throws IOException {
+        Path file = tmp.newFile().toPath();
+
+        try (DataWriter out = new DataWriter(new DeflaterSource(FileChannel.open(file, WRITE),
+                Deflater.BEST_SPEED, false))) {
+            out.writeBuffer(ByteBuffer.wrap(data));
+        }
+
+        assertTrue(Files.size(file) < DATA_SIZE / 2);
+
+        byte[] data2 = new byte[DATA_SIZE];
+        try (DataReader in = new DataReader(new InflaterSource(FileChannel.open(file, READ), false))) {
+            in.readBuffer(ByteBuffer.wrap(data2));
+        }
+        assertArrayEquals(data, data2);
+    }
+
+    @Test
+    public void testPool() {
+        InflaterPool pool = new InflaterPool(false, 1);
+        Inflater inflater = pool.acquire();
+        Inflater inflater2 = pool.acquire();
+        assertNotSame(inflater, inflater2);
+
+        pool.release(inflater);
+        pool.release(inflater2);
+
+        // only one inflater is kept
+        assertSame(inflater, pool.acquire());
+        assertNotSame(inflater2, pool.acquire());
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.buffer.source;
+
+import info.ata4.io.DataOpenOption;
+import info.ata4.io.DataReader;
+import info.ata4.io.DataReaders;
+import info.ata4.io.DataWriter;
+import info.ata4.io.DataWriters;
+import info.ata4.io.buffer.source.MappedFileSource;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.*;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class MappedFileSourceTest {
+
+    // tiny segments to test straddling requests
+    private static final int SEGMENT_SIZE = 64;
+    private static final int SEGMENT_OVERLAP = 8;
+    private static final int VALUES = 1000;
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private final Random r = new Random();
+    private Path file;
+    private long[] values;
+    private byte[] bytes;
+
+    @Before
+    public void setUp() throws IOException {
+        file = tmp.newFile("mapped.bin").toPath();
+        values = new long[VALUES];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = r.nextLong();
+        }
+        bytes = new byte[SEGMENT_SIZE * 2];
+        r.nextBytes(bytes);
+    }
+
+    private DataWriter openWriter() throws IOException {
+        FileChannel fc = FileChannel.open(file, READ, WRITE);
+        return new DataWriter(new MappedFileSource(fc, MapMode.READ_WRITE, SEGMENT_SIZE, SEGMENT_OVERLAP));
+    }
+
+    private DataReader openReader() throws IOException {
+        FileChannel fc = FileChannel.open(file, READ);
+        return new DataReader(new MappedFileSource(fc, MapMode.READ_ONLY, SEGMENT_SIZE, SEGMENT_OVERLAP));
+    }
+
+    private void writeTestData(DataWriter out) throws IOException {
+        // odd offset so that the longs cross segment boundaries
+        out.writeByte((byte) 1);
+        for (long value : values) {
+            out.writeLong(value);
+        }
+        out.writeBytes(bytes);
+    }
+
+    private void readTestData(DataReader in) throws IOException {
+        assertEquals(1, in.readByte());
+        for (long value : values) {
+            assertEquals(value, in.readLong());
+        }
+        byte[] bytesRead = new byte[bytes.length];
+        in.readBytes(bytesRead);
+        assertArrayEquals(bytes, bytesRead);
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test
+    public void testWriteRead() throws IOException {
+        long size = 1 + VALUES * 8 + bytes.length;
+
+        try (DataWriter out = openWriter()) {
+            out.order(ByteOrder.LITTLE_ENDIAN);
+            writeTestData(out);
+            assertEquals(size, out.size());
+        }
+
+        // reserved space must be truncated
+        assertEquals(size, Files.size(file));
+
+        try (DataReader in = openReader()) {
+            in.order(ByteOrder.LITTLE_ENDIAN);
+            readTestData(in);
+        }
+    }
+
+    @Test
+    public void testSeek() throws IOException {
+        try (DataWriter out = openWriter()) {
+            writeTestData(out);
+        }
+
+        try (DataReader in = openReader()) {
+            for (int i = 0; i < 100; i++) {
+                int index = r.nextInt(VALUES);
+                in.position(1 + index * 8);
+                assertEquals(values[index], in.readLong());
+            }
+        }
+    }
+
+    @Test
+    public void testSeekWithoutWrite() throws IOException {
+        try (DataWriter out = openWriter()) {
+            out.writeInt(1);
+
+            // neither seeking beyond the end nor within the written data may
+            // change the size
+            out.position(1000);
+            assertEquals(4, out.size());
+            out.position(2);
+            assertEquals(4, out.size());
+            out.position(SEGMENT_SIZE + 1);
+            assertEquals(4, out.size());
+        }
+
+        assertEquals(4, Files.size(file));
+    }
+
+    @Test
+    public void testOverwrite() throws IOException {
+        try (DataWriter out = openWriter()) {
+            writeTestData(out);
+            out.position(1 + 7 * 8);
+            out.writeLong(42);
+        }
+
+        values[7] = 42;
+
+        try (DataReader in = openReader()) {
+            readTestData(in);
+        }
+    }
+
+    @Test
+    public void testSlice() throws IOException {
+        try (DataWriter out = openWriter()) {
+            writeTestData(out);
+        }
+        
+        try (DataReader in = openReader()) {
+            // inside a segment and across several segments
+            try (DataReader slice = in.slice(1 + 8, 16)) {
+                assertEquals(values[1], slice.readLong());
+                assertEquals(values[2], slice.readLong());
+                assertFalse(slice.hasRemaining());
+            }
+            
+            try (DataReader slice = in.slice(1 + 100 * 8, 100 * 8)) {
+                assertEquals(100 * 8, slice.size());
+                for (int i = 100; i < 200; i++) {
+                    assertEquals(values[i], slice.readLong());
+                }
+            }
+            
+            assertEquals(0, in.position());
+        }
+    }
+    
+    @Test
+    public void testFork() throws IOException {
+        DataWriter out = openWriter();
+        writeTestData(out);
+        out.position(0);
+
+        // the fork doesn't see the space reserved for writing
+        MappedFileSource fork = ((MappedFileSource) out.source()).fork();
+        assertFalse(fork.canWrite());
+        assertEquals(out.size(), fork.size());
+
+        // the channel stays open until the fork is closed too
+        out.close();
+        assertEquals(out.size(), Files.size(file));
+
+        try (DataReader in = new DataReader(fork)) {
+            readTestData(in);
+        }
+    }
+
+    @Test(expected = EOFException.class)
+    public void testEOF() throws IOException {
+        try (DataWriter out = openWriter()) {
+            out.writeInt(1);
+        }
+
+        try (DataReader in = openReader()) {
+            in.readLong();
+        }
+    }
+
+    @Test
+    public void testFactories() throws IOException {
+        try (DataWriter out = DataWriters.forFile(file, DataOpenOption.MEMORY_MAPPED)) {
+            writeTestData(out);
+        }
+
+        try (DataReader in = DataReaders.forFile(file, DataOpenOption.MEMORY_MAPPED)) {
+            readTestData(in);
+        }
+    }
+}
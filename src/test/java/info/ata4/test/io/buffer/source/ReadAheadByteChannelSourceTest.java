@@ -0,0 +1,207 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.buffer.source;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.buffer.source.ReadAheadByteChannelSource;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.ScatteringByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.*;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class ReadAheadByteChannelSourceTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private final Random r = new Random();
+
+    private int[] randomInts(int count) {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = r.nextInt();
+        }
+        return values;
+    }
+
+    private byte[] toBytes(int[] values) {
+        ByteBuffer bb = ByteBuffer.allocate(values.length * 4);
+        bb.asIntBuffer().put(values);
+        return bb.array();
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        int[] values = randomInts(10000);
+        ReadableByteChannel chan = Channels.newChannel(new ByteArrayInputStream(toBytes(values)));
+
+        // small buffer size that isn't a multiple of the element size
+        try (DataReader in = new DataReader(new ReadAheadByteChannelSource(ByteBuffer.allocate(37), chan, 3))) {
+            for (int i = 0; i < values.length / 2; i++) {
+                assertEquals(values[i], in.readInt());
+            }
+
+            int[] valuesRead = new int[values.length / 2];
+            in.readInts(valuesRead);
+            for (int i = 0; i < valuesRead.length; i++) {
+                assertEquals(values[values.length / 2 + i], valuesRead[i]);
+            }
+
+            try {
+                in.readByte();
+                fail("Expected EOFException");
+            } catch (EOFException ex) {
+            }
+        }
+    }
+
+    @Test
+    public void testHandOff() throws IOException {
+        int[] values = randomInts(100);
+        ReadableByteChannel chan = Channels.newChannel(new ByteArrayInputStream(toBytes(values)));
+
+        ByteBuffer carry = ByteBuffer.allocate(64);
+        try (ReadAheadByteChannelSource src = new ReadAheadByteChannelSource(carry, chan, 2)) {
+            // prefetched buffers are consumed directly
+            ByteBuffer bb = src.requestRead(60);
+            assertNotSame(carry, bb);
+            bb.position(bb.position() + 62);
+
+            // only a request across two buffers is copied
+            bb = src.requestRead(4);
+            assertSame(carry, bb);
+            assertEquals(4, bb.remaining());
+            assertEquals(values[15] << 16 | values[16] >>> 16, bb.getInt());
+
+            bb = src.requestRead(4);
+            assertNotSame(carry, bb);
+            assertEquals(values[16] << 16 | values[17] >>> 16, bb.getInt());
+        }
+    }
+
+    @Test
+    public void testReadBuffers() throws IOException, InterruptedException {
+        byte[] data = new byte[1 << 20];
+        r.nextBytes(data);
+        Path file = tmp.newFile().toPath();
+        Files.write(file, data);
+
+        final FileChannel fc = FileChannel.open(file, READ);
+        final CountDownLatch prefetched = new CountDownLatch(2);
+
+        // file channels are scattering, but must not be read directly while
+        // the background task is reading ahead
+        ScatteringByteChannel chan = new ScatteringByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                int n = fc.read(dst);
+                prefetched.countDown();
+                return n;
+            }
+
+            @Override
+            public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+                return fc.read(dsts, offset, length);
+            }
+
+            @Override
+            public long read(ByteBuffer[] dsts) throws IOException {
+                return read(dsts, 0, dsts.length);
+            }
+
+            @Override
+            public boolean isOpen() {
+                return fc.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                fc.close();
+            }
+        };
+
+        try (DataReader in = new DataReader(new ReadAheadByteChannelSource(ByteBuffer.allocate(4096), chan, 2))) {
+            assertEquals(data[0], in.readByte());
+
+            // wait until the background task is ahead of the consumer
+            assertTrue(prefetched.await(5, TimeUnit.SECONDS));
+
+            ByteBuffer[] bbs = {ByteBuffer.allocate(100000), ByteBuffer.allocate(100000)};
+            in.readBuffers(bbs);
+            assertArrayEquals(Arrays.copyOfRange(data, 1, 100001), bbs[0].array());
+            assertArrayEquals(Arrays.copyOfRange(data, 100001, 200001), bbs[1].array());
+
+            assertEquals(data[200001], in.readByte());
+        }
+    }
+
+    @Test
+    public void testError() throws IOException {
+        final int[] values = randomInts(100);
+        final ReadableByteChannel chan = Channels.newChannel(new ByteArrayInputStream(toBytes(values)));
+
+        // channel that fails after all values have been read
+        ReadableByteChannel chanBroken = new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                int n = chan.read(dst);
+                if (n == -1) {
+                    throw new IOException("Broken channel");
+                }
+                return n;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return chan.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                chan.close();
+            }
+        };
+
+        try (DataReader in = new DataReader(new ReadAheadByteChannelSource(ByteBuffer.allocate(64), chanBroken))) {
+            // all data before the error must be readable
+            for (int value : values) {
+                assertEquals(value, in.readInt());
+            }
+
+            try {
+                in.readInt();
+                fail("Expected IOException");
+            } catch (EOFException ex) {
+                fail("Expected IOException from channel");
+            } catch (IOException ex) {
+                assertEquals("Broken channel", ex.getCause().getMessage());
+            }
+        }
+    }
+}
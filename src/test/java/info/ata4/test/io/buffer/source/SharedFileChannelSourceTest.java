@@ -0,0 +1,184 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.buffer.source;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataReaders;
+import info.ata4.io.buffer.source.NonForkableSourceException;
+import info.ata4.io.buffer.source.ReadableByteChannelSource;
+import info.ata4.io.buffer.source.SharedFileChannelSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class SharedFileChannelSourceTest {
+    
+    private static final int VALUES = 100000;
+    private static final int THREADS = 4;
+    
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+    
+    private final Random r = new Random();
+    private Path file;
+    private int[] values;
+    
+    @Before
+    public void setUp() throws IOException {
+        file = tmp.newFile("shared.bin").toPath();
+        values = new int[VALUES];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = r.nextInt();
+        }
+        
+        ByteBuffer bb = ByteBuffer.allocate(VALUES * 4);
+        bb.asIntBuffer().put(values);
+        Files.write(file, bb.array());
+    }
+    
+    @Test
+    public void testConcurrentForks() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        
+        try (DataReader in = DataReaders.forSharedFile(file)) {
+            List<Future<Boolean>> results = new ArrayList<>();
+            final int count = VALUES / THREADS;
+            
+            for (int i = 0; i < THREADS; i++) {
+                final int start = i * count;
+                in.position(start * 4);
+                final DataReader fork = in.fork();
+                
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws IOException {
+                        try (DataReader reader = fork) {
+                            for (int j = start; j < start + count; j++) {
+                                if (reader.readInt() != values[j]) {
+                                    return false;
+                                }
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    public void testSharedClose() throws IOException {
+        FileChannel fc = FileChannel.open(file, READ);
+        DataReader in = new DataReader(new SharedFileChannelSource(fc, 64));
+        in.order(ByteOrder.LITTLE_ENDIAN);
+        in.position(400);
+        
+        DataReader fork = in.fork();
+        in.close();
+        
+        // the channel stays open until the last reader is closed
+        assertTrue(fc.isOpen());
+        assertEquals(ByteOrder.LITTLE_ENDIAN, fork.order());
+        assertEquals(400, fork.position());
+        assertEquals(Integer.reverseBytes(values[100]), fork.readInt());
+        
+        fork.close();
+        assertFalse(fc.isOpen());
+    }
+    
+    @Test
+    public void testByteBufferFork() throws IOException {
+        ByteBuffer bb = ByteBuffer.wrap(Files.readAllBytes(file));
+        DataReader in = DataReaders.forByteBuffer(bb);
+        in.position(40);
+        
+        DataReader fork = in.fork();
+        assertEquals(values[10], fork.readInt());
+        assertEquals(values[11], fork.readInt());
+        assertEquals(40, in.position());
+        assertEquals(values[10], in.readInt());
+    }
+    
+    @Test
+    public void testSlice() throws IOException {
+        try (DataReader in = DataReaders.forSharedFile(file)) {
+            in.position(8);
+            
+            try (DataReader slice = in.slice(4000, 400)) {
+                assertEquals(0, slice.position());
+                assertEquals(400, slice.size());
+                
+                for (int i = 0; i < 100; i++) {
+                    assertEquals(values[1000 + i], slice.readInt());
+                }
+                assertFalse(slice.hasRemaining());
+                
+                slice.position(200);
+                assertEquals(values[1050], slice.readInt());
+                
+                // nested slices are relative to their parent
+                try (DataReader nested = slice.slice(40, 8)) {
+                    assertEquals(values[1010], nested.readInt());
+                    assertEquals(values[1011], nested.readInt());
+                }
+            }
+            
+            // the parent position is unaffected
+            assertEquals(8, in.position());
+            assertEquals(values[2], in.readInt());
+        }
+    }
+    
+    @Test
+    public void testByteBufferSlice() throws IOException {
+        DataReader in = DataReaders.forByteBuffer(ByteBuffer.wrap(Files.readAllBytes(file)));
+        DataReader slice = in.slice(40, 8);
+        assertEquals(8, slice.size());
+        assertEquals(values[10], slice.readInt());
+        assertEquals(values[11], slice.readInt());
+        assertFalse(slice.hasRemaining());
+        assertEquals(0, in.position());
+    }
+    
+    @Test(expected = NonForkableSourceException.class)
+    public void testNonForkable() throws IOException {
+        ReadableByteChannelSource source = new ReadableByteChannelSource(ByteBuffer.allocate(16),
+                Channels.newChannel(new ByteArrayInputStream(new byte[16])));
+        new DataReader(source).fork();
+    }
+}
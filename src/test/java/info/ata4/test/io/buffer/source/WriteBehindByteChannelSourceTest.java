@@ -0,0 +1,183 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.buffer.source;
+
+import info.ata4.io.DataOpenOption;
+import info.ata4.io.DataWriter;
+import info.ata4.io.DataWriters;
+import info.ata4.io.buffer.source.WriteBehindByteChannelSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static java.nio.file.StandardOpenOption.*;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class WriteBehindByteChannelSourceTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private final Random r = new Random();
+
+    private int[] randomInts(int count) {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = r.nextInt();
+        }
+        return values;
+    }
+
+    private void assertContent(int[] values, byte[] data) {
+        IntBuffer ib = ByteBuffer.wrap(data).asIntBuffer();
+        assertEquals(values.length, ib.remaining());
+        for (int value : values) {
+            assertEquals(value, ib.get());
+        }
+    }
+
+    @Test
+    public void testWrite() throws IOException {
+        int[] values = randomInts(10000);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        WritableByteChannel chan = Channels.newChannel(bos);
+
+        try (DataWriter out = new DataWriter(new WriteBehindByteChannelSource(ByteBuffer.allocate(37), chan, 3))) {
+            for (int i = 0; i < values.length / 2; i++) {
+                out.writeInt(values[i]);
+            }
+
+            // all data must be written after flushing
+            out.flush();
+            assertEquals(values.length / 2 * 4, bos.size());
+
+            out.writeInts(values, values.length / 2, values.length - values.length / 2);
+        }
+
+        assertContent(values, bos.toByteArray());
+    }
+
+    @Test
+    public void testError() throws IOException {
+        WritableByteChannel chanBroken = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                throw new IOException("Broken channel");
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() throws IOException {
+            }
+        };
+
+        DataWriter out = new DataWriter(new WriteBehindByteChannelSource(ByteBuffer.allocate(64), chanBroken));
+
+        try {
+            out.writeInts(randomInts(1000));
+            out.flush();
+            fail("Expected IOException");
+        } catch (IOException ex) {
+            assertEquals("Broken channel", ex.getCause().getMessage());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testRuntimeError() throws IOException {
+        WritableByteChannel chanBroken = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                throw new IllegalStateException("Broken channel");
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() throws IOException {
+            }
+        };
+
+        // the writer must keep returning buffers, otherwise the producer
+        // blocks once the pool is exhausted
+        DataWriter out = new DataWriter(new WriteBehindByteChannelSource(ByteBuffer.allocate(16), chanBroken, 1));
+
+        try {
+            out.writeInts(randomInts(1000));
+            out.flush();
+            fail("Expected IOException");
+        } catch (IOException ex) {
+            assertEquals("Broken channel", ex.getCause().getMessage());
+        }
+
+        try {
+            out.close();
+            fail("Expected IOException");
+        } catch (IOException ex) {
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testWriterStopped() throws IOException, InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        DataWriter out = new DataWriter(new WriteBehindByteChannelSource(ByteBuffer.allocate(16),
+                Channels.newChannel(bos), 1, executor));
+
+        out.writeInt(1);
+        out.flush();
+
+        // interrupt the idle writer and wait until it has stopped
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        try {
+            out.writeInts(randomInts(1000));
+            out.flush();
+            fail("Expected IOException");
+        } catch (IOException ex) {
+        }
+
+        assertEquals(4, bos.size());
+    }
+
+    @Test
+    public void testFactory() throws IOException {
+        int[] values = randomInts(10000);
+        Path file = tmp.newFile("writebehind.bin").toPath();
+
+        try (DataWriter out = DataWriters.forFile(file, WRITE, DataOpenOption.WRITE_BEHIND)) {
+            out.writeInts(values);
+        }
+
+        assertContent(values, Files.readAllBytes(file));
+    }
+}
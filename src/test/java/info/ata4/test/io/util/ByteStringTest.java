@@ -0,0 +1,92 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.util;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataWriter;
+import info.ata4.io.buffer.source.ByteBufferSource;
+import info.ata4.io.buffer.source.ReadableByteChannelSource;
+import info.ata4.io.util.ByteString;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class ByteStringTest {
+
+    @Test
+    public void testCompare() {
+        ByteBuffer bb = ByteBuffer.wrap("--MeshRenderer--".getBytes(StandardCharsets.US_ASCII));
+        ByteString str = new ByteString(bb, 2, 12);
+
+        assertEquals(12, str.length());
+        assertEquals('M', str.charAt(0));
+        assertEquals("MeshRenderer", str.toString());
+        assertEquals("MeshRenderer".hashCode(), str.hashCode());
+        assertTrue(str.contentEquals("MeshRenderer"));
+        assertFalse(str.contentEquals("MeshFilter"));
+        assertFalse(str.contentEquals("Mesh"));
+
+        assertEquals(0, str.compareTo("MeshRenderer"));
+        assertTrue(str.compareTo("MeshFilter") > 0);
+        assertTrue(str.compareTo("MeshRenderers") < 0);
+
+        assertTrue(str.subSequence(0, 4).contentEquals("Mesh"));
+
+        ByteString copy = str.copy();
+        assertEquals(str, copy);
+        assertEquals(str.hashCode(), copy.hashCode());
+
+        // views change with their buffer, copies don't
+        bb.put(2, (byte) 'm');
+        assertFalse(str.equals(copy));
+        assertTrue(copy.contentEquals("MeshRenderer"));
+    }
+
+    @Test
+    public void testReader() throws IOException {
+        ByteBuffer bb = ByteBuffer.allocate(256);
+        DataWriter out = new DataWriter(new ByteBufferSource(bb));
+        out.writeStringNull("first");
+        out.writeStringFixed("second", 16);
+        out.writeStringPrefixed("third", Short.TYPE);
+        out.writeStringNull("");
+
+        DataReader in = new DataReader(new ByteBufferSource(bb));
+        in.position(0);
+
+        ByteString view = new ByteString();
+        assertSame(view, in.readStringViewNull(256, view));
+        assertTrue(view.contentEquals("first"));
+        assertSame(bb, view.buffer());
+
+        assertTrue(in.readStringViewFixed(16).contentEquals("second"));
+        assertTrue(in.readStringViewPrefixed(Short.TYPE).contentEquals("third"));
+        assertEquals(0, in.readStringViewNull(256).length());
+        assertEquals(5 + 1 + 16 + 2 + 5 + 1, in.position());
+    }
+
+    @Test
+    public void testReaderBufferBoundary() throws IOException {
+        byte[] data = "a string that is longer than the buffer\0".getBytes(StandardCharsets.US_ASCII);
+        DataReader in = new DataReader(new ReadableByteChannelSource(ByteBuffer.allocate(16),
+                Channels.newChannel(new ByteArrayInputStream(data))));
+
+        ByteString view = in.readStringViewNull(Integer.MAX_VALUE);
+        assertTrue(view.contentEquals("a string that is longer than the buffer"));
+    }
+}
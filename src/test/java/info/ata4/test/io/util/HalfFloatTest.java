@@ -0,0 +1,101 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.util;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataWriter;
+import info.ata4.io.buffer.source.ByteBufferSource;
+import info.ata4.io.util.HalfFloat;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class HalfFloatTest {
+
+    @Test
+    public void testDecodeAll() {
+        for (int i = 0; i < 1 << 16; i++) {
+            assertEquals(Float.floatToRawIntBits(HalfFloat.intBitsToFloatScalar(i)),
+                    Float.floatToRawIntBits(HalfFloat.intBitsToFloat(i)));
+        }
+    }
+
+    @Test
+    public void testEncode() {
+        // every float around the half float range and a sample of the rest
+        for (long i = 0; i <= 0xffffffffL; i += 0x3f) {
+            int bits = (int) i;
+            int exp = (bits >>> 23) & 0xff;
+            if (exp < 100 || exp > 145) {
+                i += 0x3f * 0x1000;
+            }
+            float f = Float.intBitsToFloat(bits);
+            assertEquals(Integer.toHexString(bits), HalfFloat.floatToIntBitsScalar(f),
+                    HalfFloat.floatToIntBits(f));
+        }
+
+        // rounding and range boundaries
+        int[] bits = {0x32fff000, 0x32ffefff, 0x387ff000, 0x387fefff, 0x477ff000,
+            0x477fefff, 0x47800000, 0x7f7ff000, 0x7f800000, 0x7fc00000};
+        for (int b : bits) {
+            for (int sign = 0; sign < 2; sign++) {
+                float f = Float.intBitsToFloat(b | sign << 31);
+                assertEquals(HalfFloat.floatToIntBitsScalar(f), HalfFloat.floatToIntBits(f));
+            }
+        }
+    }
+
+    @Test
+    public void testBulk() throws IOException {
+        short[] half = new short[1 << 16];
+        for (int i = 0; i < half.length; i++) {
+            half[i] = (short) i;
+        }
+
+        float[] floats = new float[half.length];
+        HalfFloat.decode(half, 0, floats, 0, half.length);
+
+        FloatBuffer fb = FloatBuffer.allocate(half.length);
+        HalfFloat.decode(ShortBuffer.wrap(half), fb);
+        assertArrayEquals(floats, fb.array(), 0);
+
+        short[] half2 = new short[half.length];
+        HalfFloat.encode(floats, 0, half2, 0, floats.length);
+
+        ShortBuffer sb = ShortBuffer.allocate(half.length);
+        fb.flip();
+        HalfFloat.encode(fb, sb);
+        assertArrayEquals(half2, sb.array());
+
+        // reader and writer must agree with the single value methods
+        ByteBuffer bb = ByteBuffer.allocate(floats.length * 2);
+        DataWriter out = new DataWriter(new ByteBufferSource(bb));
+        out.writeHalfs(floats);
+
+        DataReader in = new DataReader(new ByteBufferSource(bb));
+        in.position(0);
+        float[] floats2 = new float[floats.length];
+        in.readHalfs(floats2, 0, 3);
+        in.readHalfs(floats2, 3, floats2.length - 3);
+
+        in.position(0);
+        for (int i = 0; i < floats.length; i++) {
+            assertEquals(half2[i], (short) HalfFloat.floatToIntBits(floats[i]));
+            assertEquals(Float.floatToIntBits(in.readHalf()), Float.floatToIntBits(floats2[i]));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.util;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataWriter;
+import info.ata4.io.buffer.source.ByteBufferSource;
+import info.ata4.io.util.StringCache;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class StringCacheTest {
+
+    @Test
+    public void testGetPut() {
+        StringCache cache = new StringCache(16, 8);
+        assertEquals(16, cache.capacity());
+
+        ByteBuffer bb = ByteBuffer.wrap("xxnamexx".getBytes(StandardCharsets.US_ASCII));
+        bb.position(2).limit(6);
+
+        assertNull(cache.get(bb, StandardCharsets.US_ASCII));
+        cache.put(bb, StandardCharsets.US_ASCII, "name");
+        assertEquals(2, bb.position());
+
+        ByteBuffer bb2 = ByteBuffer.wrap("name".getBytes(StandardCharsets.US_ASCII));
+        assertEquals("name", cache.get(bb2, StandardCharsets.US_ASCII));
+
+        // different charset or bytes
+        assertNull(cache.get(bb2, StandardCharsets.UTF_8));
+        assertNull(cache.get(ByteBuffer.wrap("nama".getBytes(StandardCharsets.US_ASCII)), StandardCharsets.US_ASCII));
+
+        assertEquals(1, cache.hits());
+        assertEquals(3, cache.misses());
+        assertEquals(0.25, cache.hitRate(), 0);
+
+        // too long
+        ByteBuffer bb3 = ByteBuffer.wrap("longer than eight".getBytes(StandardCharsets.US_ASCII));
+        cache.put(bb3, StandardCharsets.US_ASCII, "longer than eight");
+        assertNull(cache.get(bb3, StandardCharsets.US_ASCII));
+
+        cache.clear();
+        assertEquals(0, cache.hits());
+        assertNull(cache.get(bb2, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testReader() throws IOException {
+        ByteBuffer bb = ByteBuffer.allocate(256);
+        DataWriter out = new DataWriter(new ByteBufferSource(bb));
+        for (int i = 0; i < 4; i++) {
+            out.writeStringNull("type");
+            out.writeStringFixed("key", 8);
+            out.writeStringPrefixed("path", Byte.TYPE);
+        }
+
+        StringCache cache = new StringCache();
+        DataReader in = new DataReader(new ByteBufferSource(bb));
+        in.setStringCache(cache);
+        in.position(0);
+
+        String type = in.readStringNull();
+        String key = in.readStringFixed(8);
+        String path = in.readStringPrefixed(Byte.TYPE, Byte.MAX_VALUE);
+        assertEquals("type", type);
+        assertEquals("key", key);
+        assertEquals("path", path);
+
+        for (int i = 1; i < 4; i++) {
+            assertSame(type, in.readStringNull());
+            assertSame(key, in.readStringFixed(8));
+            assertSame(path, in.readStringPrefixed(Byte.TYPE, Byte.MAX_VALUE));
+        }
+
+        assertEquals(9, cache.hits());
+        assertEquals(3, cache.misses());
+    }
+}
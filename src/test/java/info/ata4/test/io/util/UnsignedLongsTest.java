@@ -0,0 +1,115 @@
+/*
+ ** 2026 October 18
+ **
+ ** The author disclaims copyright to this source code. In place of
+ ** a legal notice, here is a blessing:
+ **    May you do good and not evil.
+ **    May you find forgiveness for yourself and forgive others.
+ **    May you share freely, never taking more than you give.
+ */
+package info.ata4.test.io.util;
+
+import info.ata4.io.DataReader;
+import info.ata4.io.DataWriter;
+import info.ata4.io.buffer.source.ByteBufferSource;
+import info.ata4.io.util.UnsignedLongs;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Nico Bergemann <barracuda415 at yahoo.de>
+ */
+public class UnsignedLongsTest {
+
+    private static final int TEST_CYCLES = 10000;
+
+    private final Random r = new Random(0);
+
+    private long randomValue() {
+        // mix of small, large and edge values
+        switch (r.nextInt(4)) {
+            case 0:
+                return r.nextInt(100);
+            case 1:
+                return -1 - r.nextInt(100);
+            default:
+                return r.nextLong() >>> r.nextInt(64);
+        }
+    }
+
+    @Test
+    public void testArithmetic() {
+        for (int i = 0; i < TEST_CYCLES; i++) {
+            long a = randomValue();
+            long b = randomValue();
+            BigInteger ba = UnsignedLongs.toBigInteger(a);
+            BigInteger bb = UnsignedLongs.toBigInteger(b);
+
+            assertEquals(Integer.signum(ba.compareTo(bb)), Integer.signum(UnsignedLongs.compare(a, b)));
+            assertEquals(ba.toString(), UnsignedLongs.toString(a));
+            assertEquals(a, UnsignedLongs.parse(ba.toString()));
+            assertEquals(a, UnsignedLongs.valueOf(ba));
+
+            if (b != 0) {
+                assertEquals(ba.divide(bb).longValue(), UnsignedLongs.divide(a, b));
+                assertEquals(ba.remainder(bb).longValue(), UnsignedLongs.remainder(a, b));
+            }
+        }
+
+        assertEquals("18446744073709551615", UnsignedLongs.toString(UnsignedLongs.MAX_VALUE));
+    }
+
+    @Test
+    public void testBounds() {
+        assertEquals(Long.MAX_VALUE, UnsignedLongs.checkedSigned(Long.MAX_VALUE));
+        assertEquals(Integer.MAX_VALUE, UnsignedLongs.checkedInt(Integer.MAX_VALUE));
+
+        try {
+            UnsignedLongs.checkedSigned(-1);
+            fail();
+        } catch (ArithmeticException ex) {
+        }
+
+        try {
+            UnsignedLongs.checkedInt(1L << 31);
+            fail();
+        } catch (ArithmeticException ex) {
+        }
+
+        try {
+            UnsignedLongs.parse("18446744073709551616");
+            fail();
+        } catch (NumberFormatException ex) {
+        }
+
+        try {
+            UnsignedLongs.valueOf(BigInteger.ONE.negate());
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+    }
+
+    @Test
+    public void testReadWrite() throws IOException {
+        ByteBuffer bb = ByteBuffer.allocate(64);
+        DataWriter out = new DataWriter(new ByteBufferSource(bb));
+        out.writeUnsignedLong(UnsignedLongs.MAX_VALUE);
+        out.writeUnsignedLongs(new long[] {1, Long.MIN_VALUE});
+
+        DataReader in = new DataReader(new ByteBufferSource(bb));
+        in.position(0);
+        assertEquals(UnsignedLongs.MAX_VALUE, in.readUnsignedLongBits());
+
+        long[] values = new long[2];
+        in.readUnsignedLongs(values);
+        assertArrayEquals(new long[] {1, Long.MIN_VALUE}, values);
+
+        in.position(0);
+        assertEquals(new BigInteger("18446744073709551615"), in.readUnsignedLong());
+    }
+}